@@ -0,0 +1,124 @@
+/*
+ * Copyright 2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package bingo.lang;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * the bean encoded, converted and cloned by the benchmarks.
+ */
+public class BenchmarkBean {
+
+	public static BenchmarkBean create(int childs) {
+		BenchmarkBean bean = new BenchmarkBean(0);
+
+		for(int i=1;i<=childs;i++){
+			bean.getChilds().add(new BenchmarkBean(i));
+		}
+
+		return bean;
+	}
+
+	private int                 id;
+	private String              name;
+	private String              email;
+	private boolean             enabled;
+	private double              score;
+	private Date                createdAt;
+	private List<String>        tags   = new ArrayList<String>();
+	private List<BenchmarkBean> childs = new ArrayList<BenchmarkBean>();
+
+	public BenchmarkBean() {
+
+	}
+
+	public BenchmarkBean(int id) {
+		this.id        = id;
+		this.name      = "name-" + id;
+		this.email     = "user" + id + "@example.com";
+		this.enabled   = id % 2 == 0;
+		this.score     = id * 1.25d;
+		this.createdAt = new Date(1350000000000L + id);
+		this.tags.add("tag1");
+		this.tags.add("tag2");
+	}
+
+	public int getId() {
+		return id;
+	}
+
+	public void setId(int id) {
+		this.id = id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public String getEmail() {
+		return email;
+	}
+
+	public void setEmail(String email) {
+		this.email = email;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public double getScore() {
+		return score;
+	}
+
+	public void setScore(double score) {
+		this.score = score;
+	}
+
+	public Date getCreatedAt() {
+		return createdAt;
+	}
+
+	public void setCreatedAt(Date createdAt) {
+		this.createdAt = createdAt;
+	}
+
+	public List<String> getTags() {
+		return tags;
+	}
+
+	public void setTags(List<String> tags) {
+		this.tags = tags;
+	}
+
+	public List<BenchmarkBean> getChilds() {
+		return childs;
+	}
+
+	public void setChilds(List<BenchmarkBean> childs) {
+		this.childs = childs;
+	}
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package bingo.lang;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * runs the benchmarks matching the given regular expressions (all if none) with the gc profiler,
+ * so that the allocation rate is reported next to the throughput.
+ */
+public final class Benchmarks {
+
+	public static void main(String[] args) throws RunnerException {
+		OptionsBuilder builder = new OptionsBuilder();
+
+		if(args.length == 0){
+			builder.include("bingo\\.lang\\..*");
+		}else{
+			for(String include : args){
+				builder.include(include);
+			}
+		}
+
+		Options options = builder.addProfiler(GCProfiler.class).build();
+
+		new Runner(options).run();
+	}
+
+	private Benchmarks(){
+
+	}
+}
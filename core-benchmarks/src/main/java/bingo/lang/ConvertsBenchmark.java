@@ -0,0 +1,71 @@
+/*
+ * Copyright 2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package bingo.lang;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import bingo.lang.beans.BeanModel;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConvertsBenchmark {
+
+	private Map<String, Object> map;
+
+	@Setup
+	public void setup() {
+		map = BeanModel.get(BenchmarkBean.class).toMap(new BenchmarkBean(1));
+		map.remove("childs");
+	}
+
+	@Benchmark
+	public Integer stringToInteger() {
+		return Converts.convert("12345", Integer.class);
+	}
+
+	@Benchmark
+	public BigDecimal stringToDecimal() {
+		return Converts.convert("12345.678", BigDecimal.class);
+	}
+
+	@Benchmark
+	public Date stringToDate() {
+		return Converts.convert("2012-10-16 10:10:10", Date.class);
+	}
+
+	@Benchmark
+	public BenchmarkBean mapToBean() {
+		return Converts.convert(map, BenchmarkBean.class);
+	}
+}
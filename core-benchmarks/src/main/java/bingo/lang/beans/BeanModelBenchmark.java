@@ -0,0 +1,81 @@
+/*
+ * Copyright 2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package bingo.lang.beans;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import bingo.lang.BenchmarkBean;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BeanModelBenchmark {
+
+	private BeanModel<BenchmarkBean> model;
+	private BenchmarkBean            bean;
+	private List<BenchmarkBean>      beans;
+
+	@Setup
+	public void setup() {
+		model = BeanModel.get(BenchmarkBean.class);
+		bean  = new BenchmarkBean(1);
+		beans = new ArrayList<BenchmarkBean>();
+		for(int i=0;i<1000;i++){
+			beans.add(new BenchmarkBean(i));
+		}
+	}
+
+	@Benchmark
+	public BeanModel<BenchmarkBean> get() {
+		return BeanModel.get(BenchmarkBean.class);
+	}
+
+	@Benchmark
+	public Map<String, Object> toMap() {
+		return model.toMap(bean);
+	}
+
+	@Benchmark
+	public int toMapBatch() {
+		int size = 0;
+		for(BenchmarkBean b : beans){
+			size += model.toMap(b).size();
+		}
+		return size;
+	}
+
+	@Benchmark
+	public List<Map<String, Object>> toRows() {
+		return model.toRows(beans);
+	}
+}
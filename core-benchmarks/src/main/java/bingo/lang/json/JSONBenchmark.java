@@ -0,0 +1,76 @@
+/*
+ * Copyright 2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package bingo.lang.json;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import bingo.lang.BenchmarkBean;
+import bingo.lang.Charsets;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JSONBenchmark {
+
+	@Param({"1","100"})
+	public int childs;
+
+	private BenchmarkBean bean;
+	private String        json;
+	private byte[]        bytes;
+
+	@Setup
+	public void setup() {
+		bean  = BenchmarkBean.create(childs);
+		json  = JSON.encode(bean);
+		bytes = json.getBytes(Charsets.UTF_8);
+	}
+
+	@Benchmark
+	public String encode() {
+		return JSON.encode(bean);
+	}
+
+	@Benchmark
+	public JSONObject decode() {
+		return JSON.decode(json);
+	}
+
+	@Benchmark
+	public JSONObject decodeBytes() {
+		return JSON.decode(bytes);
+	}
+
+	@Benchmark
+	public BenchmarkBean decodeBean() {
+		return JSON.decode(json, BenchmarkBean.class);
+	}
+}
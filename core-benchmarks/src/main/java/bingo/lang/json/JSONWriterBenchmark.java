@@ -0,0 +1,125 @@
+/*
+ * Copyright 2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package bingo.lang.json;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * compares the table based string escaping of {@link JSONWriterImpl} with the char by char escaping it replaced.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JSONWriterBenchmark {
+
+	@Param({"name","text","escaped","cjk"})
+	public String payload;
+
+	private String[]       strings;
+	private StringBuilder  out;
+	private JSONWriterImpl writer;
+
+	@Setup
+	public void setup() {
+		StringBuilder text = new StringBuilder();
+		for(int i=0;i<20;i++){
+			text.append("The quick brown fox jumps over the lazy dog. ");
+		}
+
+		if("name".equals(payload)){
+			strings = new String[]{"id","name","email","createdAt","status","description","count","parentId"};
+		}else if("text".equals(payload)){
+			strings = new String[]{text.toString()};
+		}else if("escaped".equals(payload)){
+			strings = new String[]{text.toString().replace(". ", ".\n\t\"quoted\" \\ ")};
+		}else{
+			strings = new String[]{"中文字符串，包含一些常见的汉字和标点。中文字符串，包含一些常见的汉字和标点。"};
+		}
+
+		out    = new StringBuilder(4096);
+		writer = new JSONWriterImpl(out, true, false);
+	}
+
+	@Benchmark
+	public int escapeTable() {
+		out.setLength(0);
+		for(String s : strings){
+			writer.value(s);
+		}
+		return out.length();
+	}
+
+	@Benchmark
+	public int charByChar() throws IOException {
+		out.setLength(0);
+		for(String s : strings){
+			charByChar(s, out);
+		}
+		return out.length();
+	}
+
+	//the escaping of JSONWriterImpl.value(String) before the escape table.
+	private static void charByChar(String string,Appendable out) throws IOException {
+		int len = string.length();
+
+		out.append('"');
+		for(int i=0;i<len;i++){
+			char c = string.charAt(i);
+			switch (c) {
+			case '\\':
+				out.append("\\\\");
+				break;
+			case '"':
+				out.append("\\\"");
+				break;
+			case '\b':
+				out.append("\\b");
+				break;
+			case '\t':
+				out.append("\\t");
+				break;
+			case '\n':
+				out.append("\\n");
+				break;
+			case '\f':
+				out.append("\\f");
+				break;
+			case '\r':
+				out.append("\\r");
+				break;
+			default:
+				out.append(c);
+			}
+		}
+		out.append('"');
+	}
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package bingo.lang.reflect;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * compares the {@link ReflectAccess.Backend}s with plain core reflection and direct access.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReflectAccessorBenchmark {
+
+	private GeneratedBean  generatedBean;
+	private ReflectionBean reflectionBean;
+
+	private ReflectField   generatedField;
+	private ReflectMethod  generatedGetter;
+	private ReflectField   reflectionField;
+	private ReflectMethod  reflectionGetter;
+	private Field          javaField;
+
+	@Setup
+	public void setup() throws Exception {
+		generatedBean  = new GeneratedBean();
+		reflectionBean = new ReflectionBean();
+
+		generatedField   = ReflectClass.get(GeneratedBean.class).getField("name");
+		generatedGetter  = ReflectClass.get(GeneratedBean.class).getMethod("getName");
+		reflectionField  = ReflectClass.get(ReflectionBean.class).getField("name");
+		reflectionGetter = ReflectClass.get(ReflectionBean.class).getMethod("getName");
+
+		javaField = GeneratedBean.class.getField("name");
+		javaField.setAccessible(true);
+	}
+
+	@Benchmark
+	public Object direct() {
+		return generatedBean.name;
+	}
+
+	@Benchmark
+	public Object javaField() throws Exception {
+		return javaField.get(generatedBean);
+	}
+
+	@Benchmark
+	public Object generatedGetField() {
+		return generatedField.getValue(generatedBean);
+	}
+
+	@Benchmark
+	public void generatedSetField() {
+		generatedField.setValue(generatedBean, "name");
+	}
+
+	@Benchmark
+	public Object generatedInvoke() {
+		return generatedGetter.invoke(generatedBean);
+	}
+
+	@Benchmark
+	public Object reflectionGetField() {
+		return reflectionField.getValue(reflectionBean);
+	}
+
+	@Benchmark
+	public void reflectionSetField() {
+		reflectionField.setValue(reflectionBean, "name");
+	}
+
+	@Benchmark
+	public Object reflectionInvoke() {
+		return reflectionGetter.invoke(reflectionBean);
+	}
+
+	public static class GeneratedBean {
+		public String name = "name";
+
+		public String getName() {
+			return name;
+		}
+	}
+
+	@ReflectAccess(ReflectAccess.Backend.REFLECTION)
+	public static class ReflectionBean {
+		public String name = "name";
+
+		public String getName() {
+			return name;
+		}
+	}
+}
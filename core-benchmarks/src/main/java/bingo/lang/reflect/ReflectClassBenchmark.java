@@ -0,0 +1,67 @@
+/*
+ * Copyright 2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package bingo.lang.reflect;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import bingo.lang.BenchmarkBean;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReflectClassBenchmark {
+
+	private BenchmarkBean bean;
+	private ReflectField  field;
+
+	@Setup
+	public void setup() {
+		bean  = new BenchmarkBean(1);
+		field = ReflectClass.get(BenchmarkBean.class).getField("name");
+	}
+
+	@Benchmark
+	public ReflectClass<?> get() {
+		return ReflectClass.get(BenchmarkBean.class);
+	}
+
+	//the cached lookup contended by several threads.
+	@Benchmark
+	@Threads(4)
+	public ReflectClass<?> getContended() {
+		return ReflectClass.get(BenchmarkBean.class);
+	}
+
+	@Benchmark
+	public Object getFieldValue() {
+		return field.getValue(bean);
+	}
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package bingo.lang.xml;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import bingo.lang.Charsets;
+
+/**
+ * compares the UTF-8 byte writer {@link XmlWriterUtf8Impl} with the stax and the base writers writing to an {@link OutputStreamWriter}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class XmlWriterBenchmark {
+
+	@Param({"10","1000"})
+	public int items;
+
+	private ByteArrayOutputStream out;
+
+	@Setup
+	public void setup() {
+		out = new ByteArrayOutputStream(items * 256);
+	}
+
+	@Benchmark
+	public int utf8() {
+		out.reset();
+		writeFeed(new XmlWriterUtf8Impl(out));
+		return out.size();
+	}
+
+	@Benchmark
+	public int stax() throws IOException {
+		out.reset();
+		Writer writer = new OutputStreamWriter(out, Charsets.UTF_8);
+		writeFeed(new XmlWriterStaxImpl(writer));
+		writer.flush();
+		return out.size();
+	}
+
+	@Benchmark
+	public int base() throws IOException {
+		out.reset();
+		Writer writer = new OutputStreamWriter(out, Charsets.UTF_8);
+		writeFeed(new XmlWriterBaseImpl(writer));
+		writer.flush();
+		return out.size();
+	}
+
+	private void writeFeed(XmlWriter writer) {
+		writer.startDocument();
+		writer.startElement("feed");
+
+		for(int i=0;i<items;i++){
+			writer.startElement("item")
+				  .attribute("id", String.valueOf(i))
+				  .attribute("link", "http://example.com/items?id=" + i + "&lang=en")
+				  .element("title", "The quick brown fox jumps over the lazy dog " + i)
+				  .element("description", "<p>description & text of the item " + i + "</p>")
+				  .element("author", "中文作者 " + i)
+				  .endElement();
+		}
+
+		writer.endDocument();
+		writer.close();
+	}
+}
@@ -23,6 +23,7 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.sql.Blob;
 import java.sql.Clob;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -48,8 +49,12 @@ import bingo.lang.convert.NumberConverters;
 import bingo.lang.convert.StringConverter;
 import bingo.lang.convert.CollectionConverters.ListConverter;
 import bingo.lang.convert.StringConvertible;
+import bingo.lang.convert.ToDoubleConverter;
+import bingo.lang.convert.ToIntConverter;
+import bingo.lang.convert.ToLongConverter;
 import bingo.lang.exceptions.ConvertException;
 import bingo.lang.exceptions.ConvertUnsupportedException;
+import bingo.lang.reflect.ReflectCache;
 
 @SuppressWarnings({"unchecked","rawtypes"})
 public class Converts {
@@ -62,6 +67,21 @@ public class Converts {
 	private static Converter enumConverter  = new EnumConverter();
 	private static ListConverter listConverter = new ListConverter();
 	
+	//the resolved conversion plans by target type and source type, replaced when a converter is registered.
+	private static volatile ReflectCache<ReflectCache<Plan>> plans = newPlans();
+	
+	//the registered converters of Integer, Long and Double if they convert to the primitive value without boxing.
+	private static volatile ToIntConverter    intConverter;
+	private static volatile ToLongConverter   longConverter;
+	private static volatile ToDoubleConverter doubleConverter;
+	
+	private static final ThreadLocal<PooledOut> outs = new ThreadLocal<PooledOut>(){
+		@Override
+        protected PooledOut initialValue() {
+	        return new PooledOut();
+        }
+	};
+	
 	static {
 		//String , Charracter , Boolean
 		register(String.class,				new StringConverter());
@@ -105,10 +125,20 @@ public class Converts {
 	
 	public static void register(Class<?> clazz,Converter<?> converter){
 		converters.put(clazz,converter);
+		plans = newPlans();
+		
+		if(Integer.class.equals(clazz)){
+			intConverter = converter instanceof ToIntConverter ? (ToIntConverter)converter : null;
+		}else if(Long.class.equals(clazz)){
+			longConverter = converter instanceof ToLongConverter ? (ToLongConverter)converter : null;
+		}else if(Double.class.equals(clazz)){
+			doubleConverter = converter instanceof ToDoubleConverter ? (ToDoubleConverter)converter : null;
+		}
 	}
 	
 	public static void registerAssignableFrom(Class<?> superType,Converter<?> converter){
 		assignableFromConverters.put(superType, converter);
+		plans = newPlans();
 	}
 	
 	public static <T> T convert(Object value,Class<T> targetType) throws ConvertUnsupportedException {
@@ -152,76 +182,108 @@ public class Converts {
         	return (T)Enums.valueOf((Class<? extends Enum>)targetType,value);
         }
         
+        Out<Object> out = acquireOut();
         try {
-	        //value is Convertible
-	        Out<Object> out = new OutObject<Object>();
-	        
-	        if(value instanceof Convertible) {
-	        	if(((Convertible)value).convertTo(targetType, genericType, out)){
-	        		return (T)out.getValue();
-	        	}
-	        }
-	        
-	        //get converter fro target type
-	        Converter converter = findConverter(targetType);
-	        
-	        //convert from
-	        if(null != converter && converter.convertFrom(value, targetType, genericType, out)){
-	        	return (T)out.getValue();
-	        }
-
-	        //get converter for source type
-	        converter = findConverter(sourceType);
-	        
-	        //convert to
-	        if(null != converter && converter.convertTo(value, targetType, genericType, out)){
-	        	return (T)out.getValue();
-	        }
-	        
-	        //assignablefrom convert
-	        if(targetType.isAssignableFrom(sourceType)){
-	        	return (T)value;
-	        }
-	        
-	        for(Entry<Class<?>, Converter> entry : assignableFromConverters.entrySet()){
-	        	Class<?> superType = entry.getKey();
-	        
-	        	if(superType.isAssignableFrom(targetType) && entry.getValue().convertFrom(value, targetType, genericType, out)){
-	        		return (T)out.getValue();
-	        	}
-	        	
-	        	if(superType.isAssignableFrom(sourceType) && entry.getValue().convertTo(value, targetType, genericType, out)){
-	        		return (T)out.getValue();
-	        	}
-	        }
-	        
-	        //object type convert
-	        if(targetType.equals(Object.class)){
-	            return (T)value;
-	        }
-	        
-	        if(beanConverter.convertFrom(value, targetType, genericType, out) ){
-	        	return (T)out.getValue();
-	        }
-	        
-	        if(beanConverter.convertTo(value, targetType, genericType, out)){
+	        if(plan(sourceType, targetType).convert(value, targetType, genericType, out)){
 	        	return (T)out.getValue();
 	        }
         } catch (ConvertException e){
         	throw e;
         } catch (Throwable e) {
         	throw new ConvertException("Error converting '{0}' to '{1}', value : {2}",sourceType.getName(),targetType.getName(),value,e);
+        } finally {
+        	releaseOut(out);
         }
         
 		throw new ConvertUnsupportedException("Cannot convert '{0}' to '{1}', value : {2}",sourceType.getName(),targetType.getName(),value.toString());
 	}
 	
+	/**
+	 * returns <code>0</code> if the value is <code>null</code> or a blank string, as {@link #convert(Object, Class)} returns 
+	 * <code>null</code> for a blank string.
+	 */
 	public static int toInt(Object value){
-		return null == value ? 0 : convert(value,Integer.class);
+		if(null == value || Null.is(value)){
+			return 0;
+		}
+		
+		ToIntConverter converter = intConverter;
+		if(null != converter){
+			return converter.convertToInt(value);
+		}
+		
+		Integer intValue = convert(value,Integer.class);
+		return null == intValue ? 0 : intValue;
 	}
 	
+	/**
+	 * returns <code>0</code> if the value is <code>null</code> or a blank string, see {@link #toInt(Object)}.
+	 */
 	public static long toLong(Object value){
-		return null == value ? 0L : convert(value,Long.class);
+		if(null == value || Null.is(value)){
+			return 0L;
+		}
+		
+		ToLongConverter converter = longConverter;
+		if(null != converter){
+			return converter.convertToLong(value);
+		}
+		
+		Long longValue = convert(value,Long.class);
+		return null == longValue ? 0L : longValue;
+	}
+	
+	/**
+	 * returns <code>0</code> if the value is <code>null</code> or a blank string, see {@link #toInt(Object)}.
+	 */
+	public static double toDouble(Object value){
+		if(null == value || Null.is(value)){
+			return 0d;
+		}
+		
+		ToDoubleConverter converter = doubleConverter;
+		if(null != converter){
+			return converter.convertToDouble(value);
+		}
+		
+		Double doubleValue = convert(value,Double.class);
+		return null == doubleValue ? 0d : doubleValue;
+	}
+	
+	public static int[] toIntArray(Object[] values){
+		if(null == values){
+			return null;
+		}
+		
+		int[] array = new int[values.length];
+		for(int i=0;i<values.length;i++){
+			array[i] = toInt(values[i]);
+		}
+		return array;
+	}
+	
+	public static long[] toLongArray(Object[] values){
+		if(null == values){
+			return null;
+		}
+		
+		long[] array = new long[values.length];
+		for(int i=0;i<values.length;i++){
+			array[i] = toLong(values[i]);
+		}
+		return array;
+	}
+	
+	public static double[] toDoubleArray(Object[] values){
+		if(null == values){
+			return null;
+		}
+		
+		double[] array = new double[values.length];
+		for(int i=0;i<values.length;i++){
+			array[i] = toDouble(values[i]);
+		}
+		return array;
 	}
 	
 	public static boolean toBoolean(Object value){
@@ -293,6 +355,13 @@ public class Converts {
 		return converters.containsKey(type);
 	}
 	
+	/**
+	 * returns <code>true</code> if the given type is converted by a registered converter instead of the bean converter.
+	 */
+	public static boolean hasConverter(Class<?> type) {
+		return null != findConverter(type);
+	}
+	
 	public static <E> List<E> toList(Class<E> elementType,Object value){
 		value = trimToNull(value);
 		
@@ -348,6 +417,43 @@ public class Converts {
 		return converter;
 	}
 	
+	static Plan plan(Class<?> sourceType,Class<?> targetType) {
+		return plans.get(targetType).get(sourceType);
+	}
+	
+	private static ReflectCache<ReflectCache<Plan>> newPlans() {
+		return new ReflectCache<ReflectCache<Plan>>() {
+			@Override
+            protected ReflectCache<Plan> create(final Class<?> targetType) {
+	            return new ReflectCache<Plan>() {
+					@Override
+                    protected Plan create(Class<?> sourceType) {
+	                    return new Plan(sourceType, targetType);
+                    }
+				};
+            }
+		};
+	}
+	
+	private static Out<Object> acquireOut() {
+		PooledOut out = outs.get();
+		
+		if(out.inUse){
+			//nested conversion
+			return new OutObject<Object>();
+		}
+		
+		out.inUse = true;
+		return out;
+	}
+	
+	private static void releaseOut(Out<Object> out) {
+		if(out instanceof PooledOut){
+			((PooledOut) out).reset();
+			((PooledOut) out).inUse = false;
+		}
+	}
+	
 	static Object trimToNull(Object value){
 		if(Null.is(value)){
 			return null;
@@ -355,4 +461,87 @@ public class Converts {
 			return Strings.trimToNull(value);
 		}
 	}
+	
+	/**
+	 * the converters resolved once for a source type and a target type, tried in the same order as before caching.
+	 */
+	static final class Plan {
+		
+		private final boolean     convertible;
+		private final Converter   targetConverter;
+		private final Converter   sourceConverter;
+		private final boolean     assignable;
+		private final Converter[] assignableFromConverters;
+		private final boolean[]   assignableFromTarget;
+		
+		Plan(Class<?> sourceType,Class<?> targetType){
+			this.convertible     = Convertible.class.isAssignableFrom(sourceType);
+			this.targetConverter = findConverter(targetType);
+			this.sourceConverter = findConverter(sourceType);
+			this.assignable      = targetType.isAssignableFrom(sourceType);
+			
+			List<Converter> converters = new ArrayList<Converter>();
+			List<Boolean>   fromTarget = new ArrayList<Boolean>();
+			
+			if(!assignable){
+				for(Entry<Class<?>, Converter> entry : Converts.assignableFromConverters.entrySet()){
+					Class<?> superType = entry.getKey();
+					
+					if(superType.isAssignableFrom(targetType)){
+						converters.add(entry.getValue());
+						fromTarget.add(Boolean.TRUE);
+					}
+					
+					if(superType.isAssignableFrom(sourceType)){
+						converters.add(entry.getValue());
+						fromTarget.add(Boolean.FALSE);
+					}
+				}
+			}
+			
+			this.assignableFromConverters = converters.toArray(new Converter[converters.size()]);
+			this.assignableFromTarget     = new boolean[fromTarget.size()];
+			for(int i=0;i<assignableFromTarget.length;i++){
+				assignableFromTarget[i] = fromTarget.get(i);
+			}
+		}
+		
+		boolean convert(Object value,Class<?> targetType,Type genericType,Out<Object> out) throws Throwable {
+	        //value is Convertible
+			if(convertible && ((Convertible)value).convertTo(targetType, genericType, out)){
+				return true;
+			}
+	        
+	        //convert from
+	        if(null != targetConverter && targetConverter.convertFrom(value, targetType, genericType, out)){
+	        	return true;
+	        }
+
+	        //convert to
+	        if(null != sourceConverter && sourceConverter.convertTo(value, targetType, genericType, out)){
+	        	return true;
+	        }
+	        
+	        //assignablefrom convert, also the object target type
+	        if(assignable){
+	        	return out.returns(value);
+	        }
+	        
+	        for(int i=0;i<assignableFromConverters.length;i++){
+	        	Converter converter = assignableFromConverters[i];
+	        	
+	        	if(assignableFromTarget[i] ? converter.convertFrom(value, targetType, genericType, out) : converter.convertTo(value, targetType, genericType, out)){
+	        		return true;
+	        	}
+	        }
+	        
+	        return beanConverter.convertFrom(value, targetType, genericType, out) || beanConverter.convertTo(value, targetType, genericType, out);
+		}
+	}
+	
+	private static final class PooledOut extends OutObject<Object> {
+		private static final long serialVersionUID = 1L;
+		
+		boolean inUse;
+	}
 }
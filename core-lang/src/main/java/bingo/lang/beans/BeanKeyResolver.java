@@ -0,0 +1,117 @@
+/*
+ * Copyright 2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package bingo.lang.beans;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import bingo.lang.Reflects;
+import bingo.lang.annotations.NamedAnnotation;
+
+/**
+ * resolves the keys of a map or an object literal to the writable properties of a bean class.
+ *
+ * <p>
+ * a key matches the value of the {@link NamedAnnotation} of a property or the property name,
+ * exactly by {@link #indexOf(String)} or ignoring case by {@link #indexOfIgnoreCase(String)}.
+ *
+ * <p>
+ * if several properties have the same key, the first declared one matches it.
+ */
+public final class BeanKeyResolver {
+
+	private final BeanProperty[]       properties;
+	private final Map<String, Integer> indexes          = new HashMap<String, Integer>();
+	private final Map<String, Integer> lowerCaseIndexes = new HashMap<String, Integer>();
+
+	public BeanKeyResolver(BeanModel<?> model){
+		List<BeanProperty> list = new ArrayList<BeanProperty>();
+
+		for(BeanProperty prop : model.getProperties()){
+			if(!prop.isWritable()){
+				continue;
+			}
+
+			Integer index = list.size();
+			String  name  = getNamedValue(prop);
+
+			if(null != name){
+				index(name, index);
+			}
+
+			index(prop.getName(), index);
+
+			list.add(prop);
+		}
+
+		this.properties = list.toArray(new BeanProperty[list.size()]);
+	}
+
+	/**
+	 * returns the writable properties, the index of a property in the returned array is the index of its keys.
+	 */
+	public BeanProperty[] getProperties() {
+		return properties;
+	}
+
+	/**
+	 * returns the index of the property matching the given key exactly, or <code>-1</code> if no property matches.
+	 */
+	public int indexOf(String key) {
+		Integer index = indexes.get(key);
+
+		return null == index ? -1 : index;
+	}
+
+	/**
+	 * returns the index of the property matching the given key ignoring case, or <code>-1</code> if no property matches.
+	 *
+	 * <p>
+	 * the keys are compared in {@link Locale#ENGLISH} lower case.
+	 */
+	public int indexOfIgnoreCase(String key) {
+		Integer index = lowerCaseIndexes.get(key.toLowerCase(Locale.ENGLISH));
+
+		return null == index ? -1 : index;
+	}
+
+	private void index(String key,Integer index) {
+		if(!indexes.containsKey(key)){
+			indexes.put(key, index);
+		}
+
+		String lowerCaseKey = key.toLowerCase(Locale.ENGLISH);
+
+		if(!lowerCaseIndexes.containsKey(lowerCaseKey)){
+			lowerCaseIndexes.put(lowerCaseKey, index);
+		}
+	}
+
+	private static String getNamedValue(BeanProperty prop) {
+		for(Annotation a : prop.getAnnotations()){
+			NamedAnnotation namedAnnotation = a.annotationType().getAnnotation(NamedAnnotation.class);
+
+			if(null != namedAnnotation){
+				return (String)Reflects.invokeMethod(Reflects.findMethod(a.annotationType(), namedAnnotation.value()), a);
+			}
+		}
+		return null;
+	}
+}
@@ -16,25 +16,39 @@
 package bingo.lang.beans;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
-import java.util.WeakHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import bingo.lang.Arrays;
 import bingo.lang.Assert;
 import bingo.lang.Classes;
 import bingo.lang.Collections;
+import bingo.lang.Exceptions;
 import bingo.lang.Predicate;
+import bingo.lang.reflect.ReflectCache;
 import bingo.lang.reflect.ReflectClass;
 import bingo.lang.reflect.ReflectField;
 import bingo.lang.reflect.ReflectMethod;
 
 public class BeanModel<T> {
 	
-	private static final Map<Class<?>, BeanModel<?>> cache = 
-		java.util.Collections.synchronizedMap(new WeakHashMap<Class<?>, BeanModel<?>>());
+	private static final ReflectCache<BeanModel<?>> cache = new ReflectCache<BeanModel<?>>() {
+		@Override
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+        protected BeanModel<?> create(Class<?> type) {
+	        return new BeanModel(type);
+        }
+	};
 	
 	@SuppressWarnings("unchecked")
 	public static <T> BeanModel<T> get(T bean){
@@ -45,23 +59,23 @@ public class BeanModel<T> {
 	
 	@SuppressWarnings("unchecked")
 	public static <T> BeanModel<T> get(Class<T> type) {
-		BeanModel<?> clazz = cache.get(type);
-		
-		if(null == clazz){
-			clazz = new BeanModel<T>(type);
-			
-			cache.put(type, clazz);
-		}
-		
-		return (BeanModel<T>)clazz;
+		return (BeanModel<T>)cache.get(type);
 	}
 
 	public static final String SETTER_PREFIX = "set";
 	public static final String GETTER_PREFIX = "get";
 	public static final String IS_PREFIX     = "is";
 	
-	private ReflectClass<T> clazz;
-	private BeanProperty[]  properties;
+	//the minimum number of rows converted by a task of the executor.
+	static final int MIN_ROWS_PER_TASK = 1000;
+	
+	private ReflectClass<T>  clazz;
+	private BeanProperty[]   properties;
+	private BeanRow.Schema   rowSchema;
+	
+	//the properties by name and traditional name, exact and lower case.
+	private final Map<String, BeanProperty> propertiesByName          = new HashMap<String, BeanProperty>();
+	private final Map<String, BeanProperty> propertiesByLowerCaseName = new HashMap<String, BeanProperty>();
 	
 	protected BeanModel(Class<T> javaClass){
 		this.clazz = ReflectClass.get(javaClass);
@@ -96,6 +110,74 @@ public class BeanModel<T> {
 		return map;
 	}
 	
+	/**
+	 * returns the readable property values of the beans as the rows of {@link #toMap(Object)}.
+	 * 
+	 * <p>
+	 * the rows share the same keys and hold the values in an array, the keys of a row can not be added or removed.
+	 */
+	public List<Map<String, Object>> toRows(Iterable<? extends T> beans){
+		List<Map<String, Object>> rows = beans instanceof Collection<?> ? 
+				new ArrayList<Map<String,Object>>(((Collection<?>)beans).size()) : new ArrayList<Map<String,Object>>();
+		
+		for(T bean : beans){
+			rows.add(toRow(bean));
+		}
+		
+		return rows;
+	}
+	
+	/**
+	 * same as {@link #toRows(Iterable)}, the large batches are split into tasks run by the given executor.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public List<Map<String, Object>> toRows(final List<? extends T> beans,ExecutorService executor){
+		final Object[] rows = new Object[beans.size()];
+		
+		execute(executor, rows.length, new Range() {
+			@Override
+			void run(int from, int to) {
+				for(T bean : beans.subList(from, to)){
+					rows[from++] = toRow(bean);
+				}
+			}
+		});
+		
+		return (List)Arrays.toList(rows);
+	}
+	
+	/**
+	 * creates the beans and sets the writable properties from the values of the rows with the same names.
+	 */
+	public List<T> fromRows(List<? extends Map<String, ?>> rows) {
+		List<T> beans = new ArrayList<T>(rows.size());
+		
+		for(Map<String, ?> row : rows){
+			beans.add(fromRow(row));
+		}
+		
+		return beans;
+	}
+	
+	/**
+	 * same as {@link #fromRows(List)}, the large batches are split into tasks run by the given executor.
+	 */
+	@SuppressWarnings("unchecked")
+	public List<T> fromRows(final List<? extends Map<String, ?>> rows,ExecutorService executor) {
+		final Object[] beans = new Object[rows.size()];
+		
+		execute(executor, beans.length, new Range() {
+			@Override
+			void run(int from, int to) {
+				for(Map<String, ?> row : rows.subList(from, to)){
+					beans[from++] = fromRow(row);
+				}
+			}
+		});
+		
+		return (List<T>)Arrays.toList(beans);
+	}
+	
 	public boolean set(Object bean,String property,Object value){
 		BeanProperty prop = getProperty(property);
 		
@@ -121,22 +203,18 @@ public class BeanModel<T> {
 		return properties;
 	}
 	
+	/**
+	 * returns the first property whose name or traditional name equals the given name, or <code>null</code> if not found.
+	 */
 	public BeanProperty getProperty(String name){
-		for(BeanProperty p : properties){
-			if(p.getName().equals(name) || p.getTraditionalName().equals(name)){
-				return p;
-			}
-		}
-		return null;
+		return propertiesByName.get(name);
 	}
 	
+	/**
+	 * same as {@link #getProperty(String)}, but the names are compared in {@link Locale#ENGLISH} lower case.
+	 */
 	public BeanProperty getPropertyIgnoreCase(String name){
-		for(BeanProperty p : properties){
-			if(p.getName().equalsIgnoreCase(name) || p.getTraditionalName().equalsIgnoreCase(name)){
-				return p;
-			}
-		}
-		return null;
+		return null == name ? null : propertiesByLowerCaseName.get(name.toLowerCase(Locale.ENGLISH));
 	}
 
 	private void initialize(){
@@ -251,6 +329,138 @@ public class BeanModel<T> {
 		}
 		
 		this.properties = Collections.toArray(props.values(),BeanProperty.class);
+		
+		for(BeanProperty p : properties){
+			index(p.getName(), p);
+			index(p.getTraditionalName(), p);
+		}
+		
+		List<BeanProperty> readableProperties = new ArrayList<BeanProperty>();
+		for(BeanProperty p : properties){
+			if(p.isReadable()){
+				readableProperties.add(p);
+			}
+		}
+		this.rowSchema = new BeanRow.Schema(clazz.getJavaClass(), Collections.toArray(readableProperties,BeanProperty.class));
+	}
+	
+	//the first property of a name wins, the same as scanning the properties in order.
+	private void index(String name,BeanProperty p) {
+		if(!propertiesByName.containsKey(name)){
+			propertiesByName.put(name, p);
+		}
+		
+		String lowerCaseName = name.toLowerCase(Locale.ENGLISH);
+		
+		if(!propertiesByLowerCaseName.containsKey(lowerCaseName)){
+			propertiesByLowerCaseName.put(lowerCaseName, p);
+		}
+	}
+	
+	private Map<String, Object> toRow(Object bean) {
+		BeanProperty[] readableProperties = rowSchema.properties;
+		
+		Object[] values = new Object[readableProperties.length];
+		for(int i=0;i<values.length;i++){
+			values[i] = readableProperties[i].getValue(bean);
+		}
+		
+		return new BeanRow(rowSchema, values);
+	}
+	
+	private T fromRow(Map<String, ?> row) {
+		T bean = newInstance();
+		
+		if(row instanceof BeanRow && ((BeanRow)row).getSchema() == rowSchema){
+			BeanRow beanRow = (BeanRow)row;
+			
+			for(int i=0;i<rowSchema.properties.length;i++){
+				BeanProperty p = rowSchema.properties[i];
+				
+				if(p.isWritable()){
+					p.setValue(bean, beanRow.getValue(i));
+				}
+			}
+		}else{
+			for(BeanProperty p : properties){
+				if(p.isWritable() && row.containsKey(p.getName())){
+					p.setValue(bean, row.get(p.getName()));
+				}
+			}
+		}
+		
+		return bean;
+	}
+	
+	private static void execute(ExecutorService executor,int size,final Range range) {
+		int tasks = null == executor ? 1 : Math.min(size / MIN_ROWS_PER_TASK, Runtime.getRuntime().availableProcessors());
+		
+		if(tasks <= 1){
+			range.run(0, size);
+			return;
+		}
+		
+		int rowsPerTask = (size + tasks - 1) / tasks;
+		
+		List<Future<?>> futures = new ArrayList<Future<?>>(tasks);
+		for(int from=rowsPerTask;from<size;from+=rowsPerTask){
+			final int begin = from;
+			final int end   = Math.min(from + rowsPerTask, size);
+			
+			futures.add(executor.submit(new Runnable() {
+				public void run() {
+					range.run(begin, end);
+				}
+			}));
+		}
+		
+		Throwable failure = null;
+		try{
+			//the first range is run by the calling thread
+			range.run(0, rowsPerTask);
+		}catch(Throwable e){
+			failure = e;
+		}finally{
+			//all the tasks are waited for, so that none is still writing the results after returning or throwing.
+			for(Future<?> future : futures){
+				Throwable e = await(future);
+				
+				if(null == failure){
+					failure = e;
+				}
+			}
+		}
+		
+		if(failure instanceof Error){
+			throw (Error)failure;
+		}else if(null != failure){
+			throw Exceptions.uncheck(failure);
+		}
+	}
+	
+	//waits for the task to complete and returns the exception thrown by it, the interruption is deferred.
+	private static Throwable await(Future<?> future) {
+		boolean interrupted = false;
+		try{
+			for(;;){
+				try {
+		            future.get();
+		            return null;
+	            } catch (InterruptedException e) {
+	            	interrupted = true;
+	            } catch (ExecutionException e) {
+	            	return e.getCause();
+	            }
+			}
+		}finally{
+			if(interrupted){
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+	
+	private static abstract class Range {
+		abstract void run(int from,int to);
 	}
 	
 	private BeanProperty getOrCreatePropertyFor(Map<String, BeanProperty> props, String methodName,String prefix,Class<?> type){
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package bingo.lang.beans;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * a row of property values backed by an array, the keys are shared by all the rows of a {@link BeanModel}.
+ *
+ * <p>
+ * the keys are fixed, {@link #put(String, Object)} only replaces the value of an existing key and throws 
+ * {@link UnsupportedOperationException} for a key which is not a property name.
+ */
+final class BeanRow extends AbstractMap<String, Object> {
+
+	private final Schema   schema;
+	private final Object[] values;
+
+	BeanRow(Schema schema,Object[] values){
+		this.schema = schema;
+		this.values = values;
+	}
+
+	Schema getSchema() {
+		return schema;
+	}
+
+	Object getValue(int index) {
+		return values[index];
+	}
+
+	@Override
+    public int size() {
+	    return values.length;
+    }
+
+	@Override
+    public boolean containsKey(Object key) {
+	    return schema.indexOf(key) >= 0;
+    }
+
+	@Override
+    public Object get(Object key) {
+		int index = schema.indexOf(key);
+	    return index < 0 ? null : values[index];
+    }
+
+	@Override
+    public Object put(String key, Object value) {
+		int index = schema.indexOf(key);
+
+		if(index < 0){
+			throw new UnsupportedOperationException("key '" + key + "' is not a property of '" + schema.beanClass.getName() + "'");
+		}
+
+		Object old = values[index];
+		values[index] = value;
+	    return old;
+    }
+
+	@Override
+    public Set<Map.Entry<String, Object>> entrySet() {
+	    return new AbstractSet<Map.Entry<String,Object>>() {
+			@Override
+            public Iterator<Map.Entry<String, Object>> iterator() {
+	            return new EntryIterator();
+            }
+
+			@Override
+            public int size() {
+	            return values.length;
+            }
+		};
+    }
+
+	/**
+	 * the immutable keys of the readable properties of a bean class.
+	 */
+	static final class Schema {
+		final Class<?>       beanClass;
+		final String[]       keys;
+		final BeanProperty[] properties;
+
+		private final Map<String, Integer> indexes = new HashMap<String, Integer>();
+
+		Schema(Class<?> beanClass,BeanProperty[] properties){
+			this.beanClass  = beanClass;
+			this.properties = properties;
+			this.keys       = new String[properties.length];
+
+			for(int i=0;i<properties.length;i++){
+				keys[i] = properties[i].getName();
+				indexes.put(keys[i], i);
+			}
+		}
+
+		int indexOf(Object key) {
+			Integer index = indexes.get(key);
+			return null == index ? -1 : index;
+		}
+	}
+
+	private final class EntryIterator implements Iterator<Map.Entry<String, Object>> {
+		private int index;
+
+		public boolean hasNext() {
+	        return index < values.length;
+        }
+
+		public Map.Entry<String, Object> next() {
+			if(index >= values.length){
+				throw new NoSuchElementException();
+			}
+	        return new Entry(index++);
+        }
+
+		public void remove() {
+			throw new UnsupportedOperationException();
+        }
+	}
+
+	private final class Entry implements Map.Entry<String, Object> {
+		private final int index;
+
+		Entry(int index){
+			this.index = index;
+		}
+
+		public String getKey() {
+	        return schema.keys[index];
+        }
+
+		public Object getValue() {
+	        return values[index];
+        }
+
+		public Object setValue(Object value) {
+			Object old = values[index];
+			values[index] = value;
+	        return old;
+        }
+
+		@Override
+        public boolean equals(Object obj) {
+			if(!(obj instanceof Map.Entry)){
+				return false;
+			}
+
+			Map.Entry<?, ?> e = (Map.Entry<?, ?>)obj;
+
+			return getKey().equals(e.getKey()) && (null == getValue() ? null == e.getValue() : getValue().equals(e.getValue()));
+        }
+
+		@Override
+        public int hashCode() {
+	        return getKey().hashCode() ^ (null == getValue() ? 0 : getValue().hashCode());
+        }
+
+		@Override
+        public String toString() {
+	        return getKey() + "=" + getValue();
+        }
+	}
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package bingo.lang.cloning;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import bingo.lang.Immutable;
+import bingo.lang.reflect.ReflectClass;
+import bingo.lang.reflect.ReflectField;
+
+/**
+ * the cloning of a class resolved once by a {@link Cloner}.
+ *
+ * <p>
+ * the primitive fields are copied without boxing, the fields of a final immutable type are copied without checking the values,
+ * the arrays of primitives or final immutable elements are copied by {@link System#arraycopy(Object, int, Object, int, int)}.
+ */
+final class ClassCloner {
+
+	final boolean immutable;
+	final boolean nullInstead;
+	final boolean array;
+
+	private final Cloner   cloner;
+	private final Class<?> type;
+	private final boolean  arrayCopy;
+
+	private volatile Fields fields;
+
+	ClassCloner(Cloner cloner,Class<?> type){
+		boolean primitive = type.isPrimitive() || type.isEnum();
+
+		this.cloner      = cloner;
+		this.type        = type;
+		this.nullInstead = !primitive && cloner.isNullInstead(type);
+		this.immutable   = primitive || (!nullInstead && cloner.isImmutable(type));
+		this.array       = type.isArray();
+		this.arrayCopy   = array && isValueType(cloner, type.getComponentType());
+	}
+
+	ReflectClass<?> getReflectClass() {
+		return getFields().reflectClass;
+	}
+
+	/**
+	 * copies the fields of the given object to the given clone, the values of the reference fields are cloned if deep cloning.
+	 */
+	void copyFields(Object from,Object to,Map<Object, Object> clones,boolean deepClone) throws IllegalAccessException {
+		Fields fields = getFields();
+
+		Field[] primitiveFields = fields.primitiveFields;
+		char[]  primitiveKinds  = fields.primitiveKinds;
+
+		for(int i=0;i<primitiveFields.length;i++){
+			Field f = primitiveFields[i];
+
+			switch (primitiveKinds[i]) {
+				case 'Z':
+					f.setBoolean(to, f.getBoolean(from));
+					break;
+				case 'B':
+					f.setByte(to, f.getByte(from));
+					break;
+				case 'C':
+					f.setChar(to, f.getChar(from));
+					break;
+				case 'S':
+					f.setShort(to, f.getShort(from));
+					break;
+				case 'I':
+					f.setInt(to, f.getInt(from));
+					break;
+				case 'J':
+					f.setLong(to, f.getLong(from));
+					break;
+				case 'F':
+					f.setFloat(to, f.getFloat(from));
+					break;
+				default:
+					f.setDouble(to, f.getDouble(from));
+			}
+		}
+
+		for(Field f : fields.valueFields){
+			f.set(to, f.get(from));
+		}
+
+		for(Field f : fields.referenceFields){
+			Object value = f.get(from);
+			f.set(to, deepClone ? cloner.cloneInternal(value, clones, deepClone) : value);
+		}
+	}
+
+	/**
+	 * returns a new array of the given array, the elements are cloned if the clones map is not <code>null</code>.
+	 */
+	Object cloneArray(Object o,Map<Object, Object> clones) {
+		final int length = Array.getLength(o);
+		final Object newInstance = Array.newInstance(type.getComponentType(), length);
+
+		if (clones != null) {
+			clones.put(o, newInstance);
+		}
+
+		if(arrayCopy || null == clones){
+			System.arraycopy(o, 0, newInstance, 0, length);
+		}else{
+			Object[] from = (Object[])o;
+			Object[] to   = (Object[])newInstance;
+
+			for (int i = 0; i < length; i++) {
+				to[i] = cloner.deepClone(from[i], clones);
+			}
+		}
+
+		return newInstance;
+	}
+
+	//the fields are resolved at the first copying, the fields of the immutable classes are never resolved.
+	private Fields getFields() {
+		Fields fields = this.fields;
+
+		if(null == fields){
+			fields = this.fields = new Fields(cloner, type);
+		}
+
+		return fields;
+	}
+
+	//the values of a primitive type or a final immutable type are never cloned.
+	private static boolean isValueType(Cloner cloner,Class<?> type) {
+		if(type.isPrimitive() || type.isEnum()){
+			return true;
+		}
+
+		if(!Modifier.isFinal(type.getModifiers()) || type.isArray() || cloner.isNullInstead(type)){
+			return false;
+		}
+
+		return Immutable.class.isAssignableFrom(type) || cloner.isImmutable(type);
+	}
+
+	private static char kindOf(Class<?> type) {
+		if(type == Boolean.TYPE){
+			return 'Z';
+		}else if(type == Byte.TYPE){
+			return 'B';
+		}else if(type == Character.TYPE){
+			return 'C';
+		}else if(type == Short.TYPE){
+			return 'S';
+		}else if(type == Integer.TYPE){
+			return 'I';
+		}else if(type == Long.TYPE){
+			return 'J';
+		}else if(type == Float.TYPE){
+			return 'F';
+		}else{
+			return 'D';
+		}
+	}
+
+	private static final class Fields {
+		final ReflectClass<?> reflectClass;
+		final Field[]         primitiveFields;
+		final char[]          primitiveKinds;
+		final Field[]         valueFields;
+		final Field[]         referenceFields;
+
+		Fields(Cloner cloner,Class<?> type){
+			this.reflectClass = ReflectClass.get(type);
+
+			List<Field> primitives = new ArrayList<Field>();
+			List<Field> values     = new ArrayList<Field>();
+			List<Field> references = new ArrayList<Field>();
+
+			for(ReflectField field : reflectClass.getFields()){
+				if(field.isStatic()){
+					continue;
+				}
+
+				Field javaField = field.getJavaField();
+
+				if(javaField.getType().isPrimitive()){
+					primitives.add(javaField);
+				}else if(field.isSynthetic() || isValueType(cloner, javaField.getType())){
+					values.add(javaField);
+				}else{
+					references.add(javaField);
+				}
+			}
+
+			this.primitiveFields = primitives.toArray(new Field[primitives.size()]);
+			this.primitiveKinds  = new char[primitiveFields.length];
+			this.valueFields     = values.toArray(new Field[values.size()]);
+			this.referenceFields = references.toArray(new Field[references.size()]);
+
+			for(int i=0;i<primitiveFields.length;i++){
+				primitiveKinds[i] = kindOf(primitiveFields[i].getType());
+			}
+		}
+	}
+}
@@ -1,7 +1,6 @@
 package bingo.lang.cloning;
 
 import java.lang.annotation.Annotation;
-import java.lang.reflect.Array;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.math.BigDecimal;
@@ -28,6 +27,7 @@ import java.util.TreeMap;
 import java.util.TreeSet;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.regex.Pattern;
@@ -38,19 +38,25 @@ import bingo.lang.Objects;
 import bingo.lang.Reflects;
 import bingo.lang.annotations.Immutable;
 import bingo.lang.exceptions.CloneException;
+import bingo.lang.reflect.ReflectCache;
 import bingo.lang.reflect.ReflectClass;
-import bingo.lang.reflect.ReflectField;
 
 @SuppressWarnings("rawtypes")
 public class Cloner {
-	private final Set<Class<?>>	            immutableClasses	 = new CopyOnWriteArraySet<Class<?>>();
-	private final Set<Class<?>>	            immutableInstanceOf	 = new HashSet<Class<?>>();
-	private final Map<Object, Boolean>	    immutables	         = new IdentityHashMap<Object, Boolean>(); //TODO : non thread safe
+	private final Set<Class<?>>	                      immutableClasses	   = new CopyOnWriteArraySet<Class<?>>();
+	private final Set<Class<?>>	                      immutableInstanceOf  = new CopyOnWriteArraySet<Class<?>>();
 
-	private final Map<Class<?>, TypeCloner>	typeCloners	         = new ConcurrentHashMap<Class<?>, TypeCloner>();
-	private final Map<Class<?>, TypeCloner>	typeClonerInstanceOf = new ConcurrentHashMap<Class<?>, TypeCloner>();
+	private final ConcurrentMap<Class<?>, TypeCloner> typeCloners	       = new ConcurrentHashMap<Class<?>, TypeCloner>();
+	private final Map<Class<?>, TypeCloner>	          typeClonerInstanceOf = new ConcurrentHashMap<Class<?>, TypeCloner>();
 
-	private final Set<Class<?>>	            nullInstead	         = new HashSet<Class<?>>();
+	private final Set<Class<?>>	                      nullInstead	       = new CopyOnWriteArraySet<Class<?>>();
+	
+	//copied on write, the registered values are rarely changed and looked up for every cloned object
+	private volatile Map<Object, Boolean>             immutables           = new IdentityHashMap<Object, Boolean>();
+	
+	//replaced when the immutable classes are changed
+	private volatile ReflectCache<Boolean>            immutability         = newImmutability();
+	private volatile ReflectCache<ClassCloner>        classCloners         = newClassCloners();
 
 	public Cloner() {
 		init();
@@ -140,6 +146,7 @@ public class Cloner {
 	
 	public void registerStaticFieldsAsImmutable(Class<?>... classes) {
 		try {
+			final List<Object> values = new ArrayList<Object>();
 	        for (final Class<?> c : classes) {
 	        	final List<Field> fields = Reflects.getFields(c);
 	        	for (final Field field : fields) {
@@ -150,28 +157,30 @@ public class Cloner {
 		        		final Object value = field.get(null);
 		        		
 		        		if(null != value && !isImmutable(value.getClass())){
-		        			registerImmutableValue(value);
+		        			values.add(value);
 		        		}
 	        		}
 	        	}
 	        }
+	        addImmutables(values.toArray());
         } catch (Exception e) {
         	throw Exceptions.uncheck(e);
         }
 	}
 	
 	public void registerImmutableValue(Object immutable){
-		immutables.put(immutable,true);
+		addImmutables(immutable);
 	}
 	
 	public void registerImmutableValue(final Class<?> c, final String... fields) {
 		try {
-			for(String name : fields){
-				final Field field = c.getDeclaredField(name);
+			final Object[] values = new Object[fields.length];
+			for(int i=0;i<fields.length;i++){
+				final Field field = c.getDeclaredField(fields[i]);
 				field.setAccessible(true);
-				final Object v = field.get(null);
-				immutables.put(v, true);
+				values[i] = field.get(null);
 			}
+			addImmutables(values);
 		} catch (final Exception e) {
 			throw new RuntimeException(e);
 		}
@@ -181,19 +190,20 @@ public class Cloner {
 		for (final Class<?> cls : c) {
 			immutableClasses.add(cls);
 		}
+		resetClassCaches();
 	}
 	
 	public void registerImmutableInstanceOf(final Class<?>... c){
 		for(Class<?> cls : c){
 			immutableInstanceOf.add(cls);
 		}
+		resetClassCaches();
 	}
 
 	public void registerTypeCloner(final Class<?> c, final TypeCloner<?> typeCloner) {
-		if (typeCloners.containsKey(c)) {
+		if (null != typeCloners.putIfAbsent(c, typeCloner)) {
 			throw new IllegalArgumentException(c + " already register type cloner!");
 		}
-		typeCloners.put(c, typeCloner);
 	}
 	
 	@SuppressWarnings("unchecked")
@@ -284,35 +294,28 @@ public class Cloner {
 		}
 	}
 
+	/**
+	 * returns <code>true</code> if the instances of the given class are never cloned, the result is computed once per class.
+	 */
 	protected boolean isImmutable(final Class<?> clz) {
+		return immutability.get(clz);
+	}
+	
+	private boolean computeImmutable(final Class<?> clz) {
 		if (immutableClasses.contains(clz)) {
 			return true;
 		}
 
-		for (final Annotation annotation : clz.getDeclaredAnnotations()) {
-			if (annotation.annotationType() == Immutable.class) {
-				immutableClasses.add(clz);
-				return true;
-			}
-		}
-
-		Class<?> c = clz.getSuperclass();
-		while (c != null && c != Object.class) {
+		for (Class<?> c = clz; c != null && c != Object.class; c = c.getSuperclass()) {
 			for (final Annotation annotation : c.getDeclaredAnnotations()) {
 				if (annotation.annotationType() == Immutable.class) {
-//					final Immutable im = (Immutable) annotation;
-//					if (im.subClass()) {
-						immutableClasses.add(clz);
-						return true;
-//					}
+					return true;
 				}
 			}
-			c = c.getSuperclass();
 		}
 		
 		for (final Class<?> icls : immutableInstanceOf) {
 			if (icls.isAssignableFrom(clz)) {
-				immutableClasses.add(clz);
 				return true;
 			}
 		}
@@ -320,20 +323,43 @@ public class Cloner {
 		return false;
 	}
 	
-	@SuppressWarnings("unchecked")
+	boolean isNullInstead(final Class<?> clz) {
+		return nullInstead.contains(clz);
+	}
+	
+	private synchronized void addImmutables(Object... values) {
+		final Map<Object, Boolean> map = new IdentityHashMap<Object, Boolean>(immutables);
+		for(Object value : values){
+			map.put(value, true);
+		}
+		immutables = map;
+	}
+	
+	private void resetClassCaches() {
+		immutability = newImmutability();
+		classCloners = newClassCloners();
+	}
+	
+	private ReflectCache<Boolean> newImmutability() {
+		return new ReflectCache<Boolean>() {
+			@Override
+            protected Boolean create(Class<?> type) {
+	            return computeImmutable(type);
+            }
+		};
+	}
+	
+	private ReflectCache<ClassCloner> newClassCloners() {
+		return new ReflectCache<ClassCloner>() {
+			@Override
+            protected ClassCloner create(Class<?> type) {
+	            return new ClassCloner(Cloner.this, type);
+            }
+		};
+	}
+	
     protected <T> T cloneInternal(final T from,final T to,Map<Object,Object> clones,final boolean deepClone) throws IllegalAccessException {
-		ReflectClass<T> clazz = (ReflectClass<T>)ReflectClass.get(from.getClass());
-		
-        for(ReflectField field : clazz.getFields()){
-        	if(field.isStatic()){
-        		continue;
-        	}
-        	
-    		final Object value  = field.getValue(from, false);
-    		final Object cloned = field.isSynthetic() ? value : (deepClone ? cloneInternal(value, clones, deepClone) : value);
-    		
-    		field.setValue(to, cloned, false);
-        }
+		classCloners.get(from.getClass()).copyFields(from, to, clones, deepClone);
 		
 		return to;
 	}
@@ -352,24 +378,18 @@ public class Cloner {
 			return o;
 		}
 		
-		final Class<T> clz = (Class<T>) o.getClass();
-		
-		if(clz.isPrimitive()){
-			return o;
-		}
+		final Class<T>    clz         = (Class<T>) o.getClass();
+		final ClassCloner classCloner = classCloners.get(clz);
 		
-		if (clz.isEnum()) {
+		//primitive, enum or immutable
+		if (classCloner.immutable) {
 			return o;
 		}
 		
 		// skip cloning ignored classes
-		if (nullInstead.contains(clz)) {
+		if (classCloner.nullInstead) {
 			return null;
 		}
-		
-		if (isImmutable(clz)) {
-			return o;
-		}
 
 		final Object clonedPreviously = clones != null ? clones.get(o) : null;
 		if (clonedPreviously != null) {
@@ -398,24 +418,11 @@ public class Cloner {
 			return cloned;
 		}
 		
-		if (clz.isArray()) {
-			final int length    = Array.getLength(o);
-			final T newInstance = (T) Array.newInstance(clz.getComponentType(), length);
-
-			if (clones != null) {
-				clones.put(o, newInstance);
-			}
-
-			for (int i = 0; i < length; i++) {
-				final Object v = Array.get(o, i);
-				final Object clone = clones != null ? deepClone(v, clones) : v;
-				Array.set(newInstance, i, clone);
-			}
-			return newInstance;
+		if (classCloner.array) {
+			return (T)classCloner.cloneArray(o, clones);
 		}
 		
-		final ReflectClass<T> reflectClass = ReflectClass.get(clz);
-		final T newInstance = newInstance(reflectClass);
+		final T newInstance = newInstance((ReflectClass<T>)classCloner.getReflectClass());
 		if (clones != null) {
 			clones.put(o, newInstance);
 		}
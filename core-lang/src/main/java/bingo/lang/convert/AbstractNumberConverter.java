@@ -25,6 +25,11 @@ public abstract class AbstractNumberConverter<T extends Number> extends Abstract
     private static final Integer ONE   = new Integer(1);
 	private static final String  TRUE  = "true";
 	private static final String  FALSE = "false";
+	
+	//the decimal numbers of more digits may overflow a long and are not parsed by parseDecimal.
+	private static final int     MAX_DECIMAL_DIGITS = 18;
+	
+	static final long NOT_DECIMAL = Long.MIN_VALUE;
     
 	@Override
     public boolean convertFrom(Object value, Class<?> targetType, Type genericType, Out<Object> out) throws Throwable {
@@ -49,6 +54,53 @@ public abstract class AbstractNumberConverter<T extends Number> extends Abstract
 		}
 	}
 
+	/**
+	 * parses the trimmed chars as a decimal number without creating a {@link String}.
+	 * 
+	 * <p>
+	 * returns <code>0</code> if the chars are blank, {@link #NOT_DECIMAL} if the chars are not a decimal number of at most 18 digits.
+	 */
+	static long parseDecimal(CharSequence chars) {
+		int begin = 0;
+		int end   = chars.length();
+		
+		while(begin < end && chars.charAt(begin) <= ' '){
+			begin++;
+		}
+		
+		while(end > begin && chars.charAt(end - 1) <= ' '){
+			end--;
+		}
+		
+		if(begin == end){
+			return 0L;
+		}
+		
+		char    c        = chars.charAt(begin);
+		boolean negative = c == '-';
+		
+		if(negative || c == '+'){
+			begin++;
+		}
+		
+		if(begin == end || end - begin > MAX_DECIMAL_DIGITS){
+			return NOT_DECIMAL;
+		}
+		
+		long value = 0;
+		for(int i=begin;i<end;i++){
+			c = chars.charAt(i);
+			
+			if(c < '0' || c > '9'){
+				return NOT_DECIMAL;
+			}
+			
+			value = value * 10 + (c - '0');
+		}
+		
+		return negative ? -value : value;
+	}
+
 	protected abstract T toNumber(Class<?> targetType,Number number);
 	
 	protected abstract T toNumber(Class<?> targetType,String stringValue);
@@ -46,6 +46,12 @@ public class ArrayConverter extends AbstractConverter<Object>{
 
 			if (targetComponentType.isAssignableFrom(sourceCompoenentType)) {
 				return out.returns(value);
+			} else if (value instanceof Object[] && targetComponentType == Integer.TYPE) {
+				return out.returns(Converts.toIntArray((Object[])value));
+			} else if (value instanceof Object[] && targetComponentType == Long.TYPE) {
+				return out.returns(Converts.toLongArray((Object[])value));
+			} else if (value instanceof Object[] && targetComponentType == Double.TYPE) {
+				return out.returns(Converts.toDoubleArray((Object[])value));
 			} else {
 				int length = Array.getLength(value);
 				Object array = Array.newInstance(targetComponentType, length);
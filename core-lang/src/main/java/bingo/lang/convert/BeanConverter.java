@@ -15,7 +15,6 @@
  */
 package bingo.lang.convert;
 
-import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -25,10 +24,10 @@ import bingo.lang.Classes;
 import bingo.lang.Converts;
 import bingo.lang.Objects;
 import bingo.lang.Out;
-import bingo.lang.annotations.NamedAnnotation;
+import bingo.lang.beans.BeanKeyResolver;
 import bingo.lang.beans.BeanModel;
 import bingo.lang.beans.BeanProperty;
-import bingo.lang.reflect.ReflectClass;
+import bingo.lang.reflect.ReflectCache;
 import bingo.lang.serialize.Serialize;
 import bingo.lang.serialize.Serializer;
 import bingo.lang.serialize.Serializes;
@@ -36,6 +35,13 @@ import bingo.lang.serialize.Serializes;
 
 @SuppressWarnings({"rawtypes"})
 public class BeanConverter extends AbstractConverter<Object>{
+	
+	private static final ReflectCache<Mapper> mappers = new ReflectCache<Mapper>() {
+		@Override
+        protected Mapper create(Class<?> type) {
+	        return new Mapper(type);
+        }
+	};
 
 	@Override
     public boolean convertFrom(Object value, Class<?> targetType, Type genericType, Out<Object> out) throws Throwable {
@@ -59,61 +65,103 @@ public class BeanConverter extends AbstractConverter<Object>{
     }
 
 	protected Object convertFromMap(Class<?> targetType, Type genericType,Map map) {
-		BeanModel<?> beanClass = BeanModel.get(targetType);
+		return mappers.get(targetType).map(map);
+	}
+
+	protected Map<String,Object> convertToMap(Object bean) {
+		BeanModel<?> beanClass = BeanModel.get(bean.getClass());
 		
-		Object bean = beanClass.newInstance();
+		Map<String, Object> map = new LinkedHashMap<String, Object>();
 		
 		for(BeanProperty prop : beanClass.getProperties()){
-			String name = prop.getName();
+			if(prop.isReadable()){
+				map.put(prop.getName(), prop.getValue(bean));
+			}
+		}
+		
+		return map;
+	}
+	
+	/**
+	 * the writable properties of a bean class with their keys resolved by {@link BeanKeyResolver}.
+	 *
+	 * <p>
+	 * a key matching a property exactly wins over the keys matching it ignoring case, whatever the order of the map.
+	 */
+	private static final class Mapper {
+		private final BeanModel<?>     beanModel;
+		private final BeanKeyResolver  resolver;
+		private final MappedProperty[] properties;
+		
+		Mapper(Class<?> type){
+			this.beanModel = BeanModel.get(type);
+			this.resolver  = new BeanKeyResolver(beanModel);
 			
-			boolean multiNames = false;
+			BeanProperty[] props = resolver.getProperties();
 			
-			for(Annotation a : prop.getAnnotations()){
-				NamedAnnotation namedAnnotation = a.annotationType().getAnnotation(NamedAnnotation.class);
+			this.properties = new MappedProperty[props.length];
+			for(int i=0;i<props.length;i++){
+				properties[i] = new MappedProperty(props[i]);
+			}
+		}
+		
+		Object map(Map map) {
+			Object    bean   = beanModel.newInstance();
+			Object[]  params = new Object[properties.length];
+			boolean[] found  = new boolean[properties.length];
+			boolean[] exact  = new boolean[properties.length];
+			
+			for(Object entryObject : map.entrySet()){
+				Entry entry = (Entry)entryObject;
 				
-				if(null != namedAnnotation){
-					name = (String)ReflectClass.get(a.getClass()).getMethod(namedAnnotation.value()).invoke(a);
-					multiNames = true;
-					break;
+				String key = Objects.toString(entry.getKey());
+				if(null == key){
+					continue;
+				}
+				
+				int     index        = resolver.indexOf(key);
+				boolean isExactMatch = index >= 0;
+				
+				if(!isExactMatch){
+					index = resolver.indexOfIgnoreCase(key);
+				}
+				
+				if(index >= 0 && (!found[index] || (isExactMatch && !exact[index]))){
+					found[index]  = true;
+					exact[index]  = isExactMatch;
+					params[index] = entry.getValue();
 				}
 			}
 			
-			Serializer serializer = Serializes.getSerializer(prop.getAnnotation(Serialize.class));
+			for(int i=0;i<properties.length;i++){
+				if(found[i]){
+					properties[i].setValue(bean, params[i]);
+				}
+			}
 			
-	        for(Object entryObject : map.entrySet()){
-	            Entry entry = (Entry)entryObject;
-	            
-	            String key = Objects.toString(entry.getKey());
-	            
-	            if(name.equalsIgnoreCase(key) || (multiNames && prop.getName().equalsIgnoreCase(key))){
-		            Object param = entry.getValue();
-		            
-		            if(null != serializer && null != param && param instanceof String){
-		            	param = serializer.tryDeserialize((String)param);
-		            }
-		            
-		            if(prop.isWritable()){
-		                prop.setValue(bean, Converts.convert(param,prop.getType(),prop.getGenericType()));
-		                break;
-		            }
-	            }
-	        }
+			return bean;
 		}
-		
-		return bean;
 	}
-
-	protected Map<String,Object> convertToMap(Object bean) {
-		BeanModel<?> beanClass = BeanModel.get(bean.getClass());
-		
-		Map<String, Object> map = new LinkedHashMap<String, Object>();
+	
+	private static final class MappedProperty {
+		final BeanProperty prop;
+		final Class<?>     type;
+		final Type         genericType;
+		final Serializer   serializer;
 		
-		for(BeanProperty prop : beanClass.getProperties()){
-			if(prop.isReadable()){
-				map.put(prop.getName(), prop.getValue(bean));
-			}
+		MappedProperty(BeanProperty prop){
+			this.prop        = prop;
+			this.type        = prop.getType();
+			this.genericType = prop.getGenericType();
+			this.serializer  = Serializes.getSerializer(prop.getAnnotation(Serialize.class));
 		}
 		
-		return map;
+		void setValue(Object bean,Object param) {
+            if(null != serializer && param instanceof String){
+            	param = serializer.tryDeserialize((String)param);
+            }
+            
+            prop.setValue(bean, Converts.convert(param,type,genericType));
+		}
 	}
-}
\ No newline at end of file
+}
@@ -20,6 +20,7 @@ import java.math.BigInteger;
 import java.util.Calendar;
 import java.util.Date;
 
+import bingo.lang.Converts;
 import bingo.lang.exceptions.ConvertException;
 
 public class NumberConverters {
@@ -66,7 +67,38 @@ public class NumberConverters {
 	    }
 	}
 	
-	public static class DoubleConverter extends AbstractNumberConverter<Double> {
+	public static class DoubleConverter extends AbstractNumberConverter<Double> implements ToDoubleConverter {
+
+		public double convertToDouble(Object value) {
+			if(null == value){
+				return 0d;
+			}
+			
+			if(value instanceof Number){
+				return ((Number)value).doubleValue();
+			}
+			
+			if(value instanceof CharSequence){
+				String string = value.toString().trim();
+				
+				if(string.length() == 0){
+					return 0d;
+				}
+				
+				char c = string.charAt(0);
+				if((c >= '0' && c <= '9') || c == '-' || c == '+' || c == '.'){
+					try {
+						return Double.parseDouble(string);
+					} catch (NumberFormatException e) {
+						//converts by the boxed converter
+					}
+				}
+			}
+			
+			Double doubleValue = Converts.convert(value, Double.class);
+			
+			return null == doubleValue ? 0d : doubleValue;
+		}
 
 		@Override
 	    protected Double toNumber(Class<?> targetType, Number number) {
@@ -115,12 +147,36 @@ public class NumberConverters {
 	    }
 	}	
 	
-	public static class IntegerConverter extends AbstractNumberConverter<Integer> {
+	public static class IntegerConverter extends AbstractNumberConverter<Integer> implements ToIntConverter {
+
+		public int convertToInt(Object value) {
+			if(null == value){
+				return 0;
+			}
+			
+			if(value instanceof Number){
+				return toInt(Integer.TYPE, ((Number)value).longValue());
+			}
+			
+			if(value instanceof CharSequence){
+				long longValue = parseDecimal((CharSequence)value);
+				
+				if(longValue != NOT_DECIMAL){
+					return toInt(Integer.TYPE, longValue);
+				}
+			}
+			
+			Integer intValue = Converts.convert(value, Integer.class);
+			
+			return null == intValue ? 0 : intValue;
+		}
 
 		@Override
 	    protected Integer toNumber(Class<?> targetType, Number number) {
-			long longValue = number.longValue();
-			
+	        return Integer.valueOf(toInt(targetType, number.longValue()));
+	    }
+		
+		private static int toInt(Class<?> targetType, long longValue) {
 	        if (longValue > Integer.MAX_VALUE) {
 	        	throw new ConvertException("value '{0}' is too large for type '{1}'",longValue,targetType.getName());
 	        }
@@ -129,8 +185,8 @@ public class NumberConverters {
 	        	throw new ConvertException("value '{0}' is too small for type '{1}'",longValue,targetType.getName());
 	        }
 	        
-	        return Integer.valueOf(number.intValue());
-	    }
+	        return (int)longValue;
+		}
 
 		@Override
 	    protected Integer toNumber(Class<?> targetType, String stringValue) {
@@ -161,7 +217,29 @@ public class NumberConverters {
 	    }
 	}	
 
-	public static class LongConverter extends AbstractNumberConverter<Long> {
+	public static class LongConverter extends AbstractNumberConverter<Long> implements ToLongConverter {
+		
+		public long convertToLong(Object value) {
+			if(null == value){
+				return 0L;
+			}
+			
+			if(value instanceof Number){
+				return ((Number)value).longValue();
+			}
+			
+			if(value instanceof CharSequence){
+				long longValue = parseDecimal((CharSequence)value);
+				
+				if(longValue != NOT_DECIMAL){
+					return longValue;
+				}
+			}
+			
+			Long longValue = Converts.convert(value, Long.class);
+			
+			return null == longValue ? 0L : longValue;
+		}
 
 		@Override
 	    protected Long toNumber(Class<?> targetType, Number number) {
@@ -15,50 +15,139 @@
  */
 package bingo.lang.json;
 
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Reader;
+import java.io.Writer;
 import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
 
 import bingo.lang.Converts;
+import bingo.lang.Func1;
 import bingo.lang.Strings;
 
 public class JSON {
 	
-    private static final JSONDecoder decoderPermissive = new JSONDecoder();
-    
     private static final int ENCODE_KEY_QUOTED    = JSONSettings.IGNORE_NULL | JSONSettings.IGNORE_EMPTY;
     private static final int ENCODE_KEY_NON_QUOTE = JSONSettings.IGNORE_NULL | JSONSettings.IGNORE_EMPTY | JSONSettings.KEY_NON_QUOTE;
     
+    private static final JSONCodec codecKeyQuoted   = new JSONCodec(new JSONSettings(ENCODE_KEY_QUOTED));
+    private static final JSONCodec codecKeyNonQuote = new JSONCodec(new JSONSettings(ENCODE_KEY_NON_QUOTE));
+    
     public static JSONWriter createWriter(Appendable out) {
     	return new JSONWriterImpl(out, true, false);
     }
     
+    public static JSONReader createReader(Reader in) {
+    	return new JSONReaderImpl(in instanceof BufferedReader ? in : new BufferedReader(in));
+    }
+    
 	public static String encode(Object object){
-	    return new JSONEncoder(new JSONSettings(ENCODE_KEY_NON_QUOTE)).encode(object);
+	    return codecKeyNonQuote.encode(object);
 	}
 
 	public static String encode(Object object,boolean keyQuoted){
-	    if(keyQuoted){
-	        return new JSONEncoder(new JSONSettings(ENCODE_KEY_QUOTED)).encode(object);
-	    }
-	    return new JSONEncoder(new JSONSettings(ENCODE_KEY_NON_QUOTE)).encode(object);
+	    return codec(keyQuoted).encode(object);
+	}
+	
+	public static void encode(Object object,Writer out){
+		encode(object,out,false);
+	}
+	
+	public static void encode(Object object,Writer out,boolean keyQuoted){
+		codec(keyQuoted).encode(object,out);
+	}
+	
+	public static void encode(Object object,OutputStream out,Charset charset){
+		encode(object,out,charset,false);
+	}
+	
+	/**
+	 * encodes the object and writes the json text to the {@link OutputStream} without building an intermediate {@link String}.
+	 * 
+	 * <p>
+	 * the stream is neither flushed nor closed when the charset is UTF-8.
+	 */
+	public static void encode(Object object,OutputStream out,Charset charset,boolean keyQuoted){
+		codec(keyQuoted).encode(object,out,charset);
 	}
 	
 	public static JSONObject decode(Reader reader) {
-	    return new JSONObject(decoderPermissive.decode(reader));
+	    return codecKeyNonQuote.decode(reader);
 	}
 
 	public static JSONObject decode(String string) {
-		return new JSONObject(decoderPermissive.decode(string));
+		return codecKeyNonQuote.decode(string);
 	}
 	
 	public static <T> T decode(String string,Class<? extends T> type){
-	    return Converts.convert(decoderPermissive.decode(string),type);
+	    return codecKeyNonQuote.decode(string,type);
 	}
 	
     public static <T> T decode(Reader reader,Class<? extends T> type){
-        return Converts.convert(decoderPermissive.decode(reader),type);
+        return codecKeyNonQuote.decode(reader,type);
+    }
+    
+    /**
+     * decodes the UTF-8 encoded json bytes without transcoding them to a {@link String} first.
+     */
+    public static JSONObject decode(byte[] bytes) {
+    	return codecKeyNonQuote.decode(bytes);
+    }
+    
+    public static JSONObject decode(ByteBuffer buffer) {
+    	return codecKeyNonQuote.decode(buffer);
+    }
+    
+    public static JSONObject decode(InputStream stream) {
+    	return codecKeyNonQuote.decode(stream);
+    }
+    
+    public static <T> T decode(byte[] bytes,Class<? extends T> type){
+    	return codecKeyNonQuote.decode(bytes,type);
+    }
+    
+    public static <T> T decode(ByteBuffer buffer,Class<? extends T> type){
+    	return codecKeyNonQuote.decode(buffer,type);
+    }
+    
+    public static <T> T decode(InputStream stream,Class<? extends T> type){
+    	return codecKeyNonQuote.decode(stream,type);
+    }
+	
+    /**
+     * decodes the elements of a top level json array one by one, the whole array is never held in memory.
+     * 
+     * <p>
+     * the returned {@link Iterable} reads from the given reader and can be iterated only once.
+     */
+    public static Iterable<JSONObject> decodeArray(final Reader reader) {
+    	return new Iterable<JSONObject>() {
+			public Iterator<JSONObject> iterator() {
+	            return new JSONArrayIterator<JSONObject>(createReader(reader), new Func1<Object, JSONObject>() {
+					public JSONObject apply(Object input) {
+	                    return new JSONObject(input);
+                    }
+				});
+            }
+		};
+    }
+    
+    public static <T> Iterable<T> decodeArray(final Reader reader,final Class<T> elementType) {
+    	return new Iterable<T>() {
+			public Iterator<T> iterator() {
+	            return new JSONArrayIterator<T>(createReader(reader), new Func1<Object, T>() {
+					public T apply(Object input) {
+	                    return Converts.convert(input, elementType);
+                    }
+				});
+            }
+		};
     }
 	
     public static Map<String,Object> decodeToMap(String json){
@@ -89,6 +178,10 @@ public class JSON {
         return decode(json).array();
     }
     
+    private static JSONCodec codec(boolean keyQuoted){
+    	return keyQuoted ? codecKeyQuoted : codecKeyNonQuote;
+    }
+    
     @SuppressWarnings("unchecked")
     public static <T> T[] decodeToArray(String json,Class<T> componentType){
         T[] a = (T[])Array.newInstance(componentType, 0);
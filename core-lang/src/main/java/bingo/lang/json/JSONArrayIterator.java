@@ -0,0 +1,73 @@
+/*
+ * Copyright 2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package bingo.lang.json;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import bingo.lang.Func1;
+
+/**
+ * iterates the elements of a top level json array, only one element is held in memory at a time.
+ */
+final class JSONArrayIterator<T> implements Iterator<T> {
+	
+	private final JSONReader 		 reader;
+	private final Func1<Object, T> func;
+	
+	private boolean started;
+	private Boolean hasNext;
+	
+	JSONArrayIterator(JSONReader reader,Func1<Object, T> func){
+		this.reader = reader;
+		this.func   = func;
+	}
+
+	public boolean hasNext() {
+		if(null == hasNext){
+			if(!started){
+				started = true;
+				
+				JSONToken token = reader.next();
+				
+				if(token == JSONToken.END_DOCUMENT || token == JSONToken.NULL){
+					return hasNext = false;
+				}
+				
+				if(token != JSONToken.START_ARRAY){
+					throw new JSONException("the json text must be an array but was '{0}'",token);
+				}
+			}
+			
+			hasNext = reader.next() != JSONToken.END_ARRAY;
+		}
+	    return hasNext;
+    }
+
+	public T next() {
+		if(!hasNext()){
+			throw new NoSuchElementException();
+		}
+		
+		hasNext = null;
+		
+	    return func.apply(reader.readValue());
+    }
+
+	public void remove() {
+		throw new UnsupportedOperationException("remove()");
+    }
+}
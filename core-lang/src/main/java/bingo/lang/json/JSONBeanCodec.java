@@ -0,0 +1,213 @@
+/*
+ * Copyright 2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package bingo.lang.json;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+
+import bingo.lang.Classes;
+import bingo.lang.Converts;
+import bingo.lang.New;
+import bingo.lang.beans.BeanKeyResolver;
+import bingo.lang.beans.BeanModel;
+import bingo.lang.beans.BeanProperty;
+import bingo.lang.reflect.ReflectCache;
+import bingo.lang.reflect.ReflectClass;
+import bingo.lang.reflect.ReflectField;
+import bingo.lang.serialize.Serialize;
+import bingo.lang.serialize.Serializer;
+import bingo.lang.serialize.Serializes;
+
+/**
+ * compiled json mapping of a bean class.
+ *
+ * <p>
+ * the serializable fields, their json names and the written form of their keys are resolved once per class,
+ * the values are read through the generated accessor of {@link ReflectClass}.
+ *
+ * <p>
+ * for decoding, the writable {@link BeanProperty}s are indexed by json key so that the parser
+ * can set the values directly into a new bean instance.
+ */
+final class JSONBeanCodec {
+
+	private static final ReflectCache<JSONBeanCodec> cache = new ReflectCache<JSONBeanCodec>() {
+		@Override
+		protected JSONBeanCodec create(Class<?> type) {
+			return new JSONBeanCodec(type);
+		}
+	};
+
+	static JSONBeanCodec get(Class<?> type) {
+		return cache.get(type);
+	}
+
+	/**
+	 * returns <code>true</code> if a json object can be decoded directly into a new instance of the given type.
+	 */
+	static boolean isBindable(Class<?> type) {
+		return null != type &&
+			   !Object.class.equals(type) &&
+			   !Map.class.isAssignableFrom(type) &&
+			   !Classes.isSimple(type) &&
+			   !Classes.isEnumerable(type) &&
+			   Classes.isConcrete(type) &&
+			   !Converts.hasConverter(type) &&
+			   ReflectClass.get(type).hasDefaultConstructor();
+	}
+
+	private final Class<?>   beanClass;
+	private final Property[] properties;
+
+	private volatile Bindings bindings;
+
+	private JSONBeanCodec(Class<?> beanClass){
+		this.beanClass  = beanClass;
+		this.properties = createProperties(ReflectClass.get(beanClass));
+	}
+
+	Class<?> getBeanClass() {
+		return beanClass;
+	}
+
+	Property[] getProperties() {
+		return properties;
+	}
+
+	Object newInstance() {
+		return bindings().model.newInstance();
+	}
+
+	/**
+	 * returns the number of {@link Binding}s, the {@link Binding#index} of a binding is less than it.
+	 */
+	int getBindingCount() {
+		return bindings().bindings.length;
+	}
+
+	/**
+	 * returns the {@link Binding} of the given json key, or <code>null</code> if no writable property matches the key.
+	 *
+	 * <p>
+	 * the key is resolved by {@link BeanKeyResolver}, the exact match first, the same as {@link bingo.lang.convert.BeanConverter}.
+	 */
+	Binding getBinding(String key) {
+		Bindings b = bindings();
+
+		int index = b.resolver.indexOf(key);
+
+		if(index < 0){
+			index = b.resolver.indexOfIgnoreCase(key);
+		}
+
+		return index < 0 ? null : b.bindings[index];
+	}
+
+	private Bindings bindings() {
+		Bindings b = bindings;
+
+		if(null == b){
+			bindings = b = new Bindings(BeanModel.get(beanClass));
+		}
+
+		return b;
+	}
+
+	private static Property[] createProperties(ReflectClass<?> reflectClass){
+		List<Property> list = New.list();
+
+		for(ReflectField field : reflectClass.getFields()){
+			if(field.isStatic() || field.isSynthetic()){
+				continue;
+			}
+
+			if(null != field.getAnnotation(JSONField.class) ||
+			   ((!field.isAnnotationPresent(JSONIgnore.class) && !field.isTransient()) && (field.isPublic() || field.hasGetter()))){
+
+				JSONNamed named = field.getAnnotation(JSONNamed.class);
+
+				list.add(new Property(null == named ? field.getName() : named.value(), field));
+			}
+		}
+
+		return list.toArray(new Property[list.size()]);
+	}
+
+	private static final class Bindings {
+		final BeanModel<?>    model;
+		final BeanKeyResolver resolver;
+		final Binding[]       bindings;
+
+		private Bindings(BeanModel<?> model){
+			this.model    = model;
+			this.resolver = new BeanKeyResolver(model);
+
+			BeanProperty[] properties = resolver.getProperties();
+
+			this.bindings = new Binding[properties.length];
+			for(int i=0;i<properties.length;i++){
+				bindings[i] = new Binding(properties[i], i);
+			}
+		}
+	}
+
+	static final class Binding {
+		final BeanProperty property;
+		final int          index;
+		final Class<?>     type;
+		final Type         genericType;
+		final Serializer   serializer;
+
+		private Binding(BeanProperty property,int index){
+			this.property    = property;
+			this.index       = index;
+			this.type        = property.getType();
+			this.genericType = property.getGenericType();
+			this.serializer  = Serializes.getSerializer(property.getAnnotation(Serialize.class));
+		}
+
+		void setValue(Object bean,Object value) {
+			if(null != serializer && value instanceof String){
+				value = serializer.tryDeserialize((String)value);
+			}
+
+			if(!type.isInstance(value) || value instanceof String){
+				value = Converts.convert(value, type, genericType);
+			}
+
+			property.setValue(bean, value);
+		}
+	}
+
+	static final class Property {
+		final String       name;
+		final String       quotedKey;
+		final String       unquotedKey;
+		final ReflectField field;
+
+		private Property(String name,ReflectField field){
+			this.name        = name;
+			this.field       = field;
+			this.quotedKey   = JSONWriterImpl.quote(name) + JSONWriterImpl.CLOSE_NAME;
+			this.unquotedKey = name + JSONWriterImpl.CLOSE_NAME;
+		}
+
+		Object getValue(Object bean) {
+			return field.getValue(bean);
+		}
+	}
+}
@@ -0,0 +1,259 @@
+/*
+ * Copyright 2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package bingo.lang.json;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+import bingo.lang.Charsets;
+import bingo.lang.Converts;
+
+/**
+ * immutable and thread safe json encoder and decoder created from a {@link JSONSettings}.
+ *
+ * <p>
+ * the encoder, the parser and the output buffers are pooled per thread and reused by every call of the same thread,
+ * a nested call (i.e. a getter encoding json) uses new ones.
+ */
+public final class JSONCodec {
+
+	//the pooled buffers grown larger than this size are dropped after use.
+	private static final int MAX_POOLED_CHARS = 64 * 1024;
+
+	private final JSONSettings         settings;
+	private final ThreadLocal<Context> contexts = new ThreadLocal<Context>(){
+		@Override
+        protected Context initialValue() {
+	        return new Context(settings);
+        }
+	};
+
+	public JSONCodec(JSONSettings settings){
+		this.settings = settings;
+	}
+
+	public JSONSettings getSettings() {
+		return settings;
+	}
+
+	/**
+	 * creates a {@link JSONReader} reading the json text from the given reader, see {@link JSON#createReader(Reader)}.
+	 */
+	public JSONReader createReader(Reader in) {
+		return new JSONReaderImpl(in instanceof BufferedReader ? in : new BufferedReader(in),settings);
+	}
+
+	public String encode(Object value) {
+		Context context = acquire();
+		try{
+			context.encoder.encode(value,context.chars);
+			return context.chars.toString();
+		}finally{
+			release(context);
+		}
+	}
+
+	public void encode(Object value,Writer out) {
+		Context context = acquire();
+		try{
+			context.encoder.encode(value,out);
+		}finally{
+			release(context);
+		}
+	}
+
+	/**
+	 * encodes the object and writes the json text to the {@link OutputStream} without building an intermediate {@link String}.
+	 *
+	 * <p>
+	 * the stream is neither flushed nor closed when the charset is UTF-8.
+	 */
+	public void encode(Object value,OutputStream out,Charset charset) {
+		Context context = acquire();
+		try{
+			if(Charsets.UTF_8.equals(charset)){
+				if(null == context.bytes){
+					context.bytes = new byte[JSONUtf8Output.DEFAULT_BUFFER_SIZE];
+				}
+				JSONUtf8Output utf8 = new JSONUtf8Output(out,context.bytes);
+				context.encoder.encode(value,utf8);
+				utf8.flush();
+			}else{
+				Writer writer = new OutputStreamWriter(out,charset);
+				context.encoder.encode(value,writer);
+				writer.flush();
+			}
+		} catch (IOException e) {
+			throw new JSONException(e.getMessage(),e);
+		}finally{
+			release(context);
+		}
+	}
+
+	public JSONObject decode(String string) {
+		Context context = acquire();
+		try{
+			return new JSONObject(context.decoder.decode(string));
+		}finally{
+			release(context);
+		}
+	}
+
+	public JSONObject decode(Reader reader) {
+		Context context = acquire();
+		try{
+			return new JSONObject(context.decoder.decode(reader));
+		}finally{
+			release(context);
+		}
+	}
+
+	/**
+	 * decodes the UTF-8 encoded json bytes without transcoding them to a {@link String} first.
+	 */
+	public JSONObject decode(byte[] bytes) {
+		Context context = acquire();
+		try{
+			return new JSONObject(context.decoder.decode(bytes));
+		}finally{
+			release(context);
+		}
+	}
+
+	/**
+	 * decodes the remaining UTF-8 encoded json bytes of the buffer, the position of the buffer is not changed.
+	 */
+	public JSONObject decode(ByteBuffer buffer) {
+		Context context = acquire();
+		try{
+			return new JSONObject(context.decoder.decode(buffer));
+		}finally{
+			release(context);
+		}
+	}
+
+	/**
+	 * decodes the UTF-8 encoded json stream, the stream is not closed.
+	 *
+	 * <p>
+	 * the stream is read through a buffer, the bytes following the json value may be consumed as well,
+	 * so the stream must not be read again after decoding.
+	 */
+	public JSONObject decode(InputStream stream) {
+		Context context = acquire();
+		try{
+			return new JSONObject(context.decoder.decode(buffered(stream)));
+		}finally{
+			release(context);
+		}
+	}
+
+	public <T> T decode(String string,Class<? extends T> type) {
+		Context context = acquire();
+		try{
+			return Converts.convert(context.decoder.decode(string,type),type);
+		}finally{
+			release(context);
+		}
+	}
+
+	public <T> T decode(Reader reader,Class<? extends T> type) {
+		Context context = acquire();
+		try{
+			return Converts.convert(context.decoder.decode(reader,type),type);
+		}finally{
+			release(context);
+		}
+	}
+
+	public <T> T decode(byte[] bytes,Class<? extends T> type) {
+		Context context = acquire();
+		try{
+			return Converts.convert(context.decoder.decode(bytes,type),type);
+		}finally{
+			release(context);
+		}
+	}
+
+	public <T> T decode(ByteBuffer buffer,Class<? extends T> type) {
+		Context context = acquire();
+		try{
+			return Converts.convert(context.decoder.decode(buffer,type),type);
+		}finally{
+			release(context);
+		}
+	}
+
+	/**
+	 * same as {@link #decode(InputStream)}, but decodes the json value into the given type.
+	 */
+	public <T> T decode(InputStream stream,Class<? extends T> type) {
+		Context context = acquire();
+		try{
+			return Converts.convert(context.decoder.decode(buffered(stream),type),type);
+		}finally{
+			release(context);
+		}
+	}
+
+	private static InputStream buffered(InputStream stream) {
+		return stream instanceof BufferedInputStream || stream instanceof ByteArrayInputStream ? stream : new BufferedInputStream(stream);
+	}
+
+	private Context acquire() {
+		Context context = contexts.get();
+
+		if(context.inUse){
+			return new Context(settings);
+		}
+
+		context.inUse = true;
+		return context;
+	}
+
+	private static void release(Context context) {
+		if(context.chars.capacity() > MAX_POOLED_CHARS){
+			context.chars = new StringBuilder(Context.INITIAL_CHARS);
+		}else{
+			context.chars.setLength(0);
+		}
+		context.inUse = false;
+	}
+
+	private static final class Context {
+		static final int INITIAL_CHARS = 256;
+
+		final JSONEncoder encoder;
+		final JSONDecoder decoder;
+		StringBuilder     chars = new StringBuilder(INITIAL_CHARS);
+		byte[]            bytes;
+		boolean           inUse;
+
+		Context(JSONSettings settings){
+			this.encoder = new JSONEncoder(settings);
+			this.decoder = new JSONDecoder(settings);
+		}
+	}
+}
@@ -15,23 +15,64 @@
  */
 package bingo.lang.json;
 
+import java.io.InputStream;
 import java.io.Reader;
+import java.nio.ByteBuffer;
 
+/**
+ * decodes json text by a reused {@link JSONParser}, not thread-safe.
+ */
 class JSONDecoder {
     
+    private final JSONParser parser = new JSONParser(JSONParser.MODE_PERMISSIVE);
+    
     public JSONDecoder(){
         this(new JSONSettings());
     }
     
     public JSONDecoder(JSONSettings settings){
-        
+        if(settings.isInternKeys()){
+            parser.setSymbols(new JSONSymbols());
+        }
     }
 
     public Object decode(String string){
-        return new JSONParser(JSONParser.MODE_PERMISSIVE).parse(string);
+        return parser.parse(string);
     }
     
     public Object decode(Reader reader){
-        return new JSONParser(JSONParser.MODE_PERMISSIVE).parse(reader);
+        return parser.parse(reader);
+    }
+    
+    public Object decode(byte[] bytes){
+        return parser.parse(bytes);
+    }
+    
+    public Object decode(ByteBuffer buffer){
+        return parser.parse(buffer,null,null);
+    }
+    
+    public Object decode(InputStream stream){
+        return parser.parse(stream);
+    }
+    
+    public Object decode(String string,Class<?> type){
+        return parser.parse(string,type,type);
+    }
+    
+    public Object decode(Reader reader,Class<?> type){
+        return parser.parse(reader,type,type);
+    }
+    
+    public Object decode(byte[] bytes,Class<?> type){
+        return parser.parse(bytes,type,type);
+    }
+    
+    public Object decode(ByteBuffer buffer,Class<?> type){
+        return parser.parse(buffer,type,type);
+    }
+    
+    public Object decode(InputStream stream,Class<?> type){
+        return parser.parse(stream,type,type);
     }
 }
\ No newline at end of file
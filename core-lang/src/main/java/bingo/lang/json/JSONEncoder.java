@@ -23,7 +23,6 @@ import java.util.Map;
 import bingo.lang.Enums;
 import bingo.lang.Strings;
 import bingo.lang.reflect.ReflectClass;
-import bingo.lang.reflect.ReflectField;
 
 class JSONEncoder {
 	
@@ -33,6 +32,7 @@ class JSONEncoder {
     private IdentityHashMap<Object,Integer> references = new IdentityHashMap<Object, Integer>();
     private int					 		 	deep       = 0;
     private JSONSettings				    settings ;
+    private JSONWriterImpl				    writer;
     
     public JSONEncoder(){
         this(new JSONSettings());
@@ -46,15 +46,33 @@ class JSONEncoder {
         if (null == value) {
             return encodeNull();
         } else {
-        	JSONWriterImpl writer = new JSONWriterImpl(new StringBuilder(128),settings.isKeyQuoted(),settings.isIgnoreNull());
+        	StringBuilder out = new StringBuilder(128);
         	
-            encode(null,value, writer);
+        	encode(value, out);
             
-            references.clear();
-            
-            return writer.toString();
+            return out.toString();
         }
     }
+    
+    public void encode(Object value, Appendable out){
+    	if(null == writer){
+    		writer = new JSONWriterImpl(out,settings.isKeyQuoted(),settings.isIgnoreNull());
+    	}else{
+    		writer.reset(out);
+    	}
+    	
+    	try{
+    		if (null == value) {
+    			writer.nullValue();
+    		} else {
+    			encode(null,value, writer);
+    		}
+    	}finally{
+    		writer.reset(null);
+    		references.clear();
+    		deep = 0;
+    	}
+    }
 
     private String encodeNull() {
     	return JSONWriterImpl.NULL_STRING;
@@ -236,51 +254,29 @@ class JSONEncoder {
     }
 
     private void encodeBean(String name,Object bean, JSONWriterImpl writer) {
-        Class<?> clazz = bean.getClass();
         writer.startObject();
         
         try {
-            ReflectClass<?> beanClass = ReflectClass.get(clazz);
-
             int index = 0;
-            for(ReflectField prop : beanClass.getFields()){
-            	if(prop.isStatic() || prop.isSynthetic()){
-            		continue;
-            	}
-            	JSONField jsonField = prop.getAnnotation(JSONField.class);
-            	
-                if(null != jsonField || ((!prop.isAnnotationPresent(JSONIgnore.class) && !prop.isTransient()) && (prop.isPublic() || prop.hasGetter()))){
-                    String propName = prop.getName();
-                    
-                    JSONNamed named = prop.getAnnotation(JSONNamed.class);
-                    
-                    if(null != named){
-                    	propName = named.value();
-                    }
-                    
-                    Object propValue = prop.getValue(bean);
-                    
-                    if(null == propValue && settings.isIgnoreNull()){
-                        continue;
-                    }
-                    
-                    if(settings.isIgnoreEmpty() && Strings.isBlank(propValue)){
-                        continue;
-                    }
-                    
-                    //detect cyclic references
-//                    if(references.containsKey(propValue)){
-//                    	continue;
-//                    }                    
-                    
-                    if (index == 0) {
-                        index++;
-                    } else {
-                        writer.separator();
-                    }
-
-                    encodeNamedValue(propName, propValue, writer);
+            for(JSONBeanCodec.Property prop : JSONBeanCodec.get(bean.getClass()).getProperties()){
+                Object propValue = prop.getValue(bean);
+                
+                if(null == propValue && settings.isIgnoreNull()){
+                    continue;
+                }
+                
+                if(settings.isIgnoreEmpty() && Strings.isBlank(propValue)){
+                    continue;
                 }
+                
+                if (index == 0) {
+                    index++;
+                } else {
+                    writer.separator();
+                }
+
+                writer.name(prop);
+                encode(prop.name,propValue, writer);
             }
         } catch (JSONException e){
         	throw e;
@@ -17,6 +17,8 @@ package bingo.lang.json;
  */
 import java.io.InputStream;
 import java.io.Reader;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
 
 class JSONParser {
 	/**
@@ -113,6 +115,7 @@ class JSONParser {
 	private JSONParserInputStream pSBintream;
 	private JSONParserString pString;
 	private JSONParserByteArray pBytes;
+	private JSONSymbols symbols;
 
 	public JSONParser() {
 		this.mode = MODE_JSON_SIMPLE;
@@ -122,43 +125,108 @@ class JSONParser {
 		this.mode = permissifMode;
 	}
 
+	/**
+	 * enables the key symbol table shared by all the parsers of this instance, see {@link JSONSymbols}
+	 */
+	public void setSymbols(JSONSymbols symbols) {
+		this.symbols = symbols;
+		if (pStream != null)
+			pStream.symbols = symbols;
+		if (pSBintream != null)
+			pSBintream.symbols = symbols;
+		if (pString != null)
+			pString.symbols = symbols;
+		if (pBytes != null)
+			pBytes.symbols = symbols;
+	}
+
+	private <P extends JSONParserBase> P init(P parser) {
+		parser.symbols = symbols;
+		return parser;
+	}
+
 	/**
 	 * use to return Primitive Type, or String, Or JsonObject or JsonArray
 	 * generated by a ContainerFactory
 	 */
 	public Object parse(String in) throws JSONParserException {
 		if (pString == null)
-			pString = new JSONParserString(mode);
+			pString = init(new JSONParserString(mode));
 		return pString.parse(in);
 	}
 
+	/**
+	 * decodes the json objects directly into the given bean type, see {@link JSONParserBase#readTyped(Class, Type, boolean[])}
+	 */
+	public Object parse(String in, Class<?> type, Type genericType) throws JSONParserException {
+		if (pString == null)
+			pString = init(new JSONParserString(mode));
+		return pString.parse(in, type, genericType);
+	}
+
 	/**
 	 * use to return Primitive Type, or String, Or JsonObject or JsonArray
 	 * generated by a ContainerFactory
 	 */
 	public Object parse(byte[] in) throws JSONParserException {
 		if (pBytes == null)
-			pBytes = new JSONParserByteArray(mode);
+			pBytes = init(new JSONParserByteArray(mode));
 		return pBytes.parse(in);
 	}
 
+	/**
+	 * decodes the json objects directly into the given bean type, see {@link JSONParserBase#readTyped(Class, Type, boolean[])}
+	 */
+	public Object parse(byte[] in, Class<?> type, Type genericType) throws JSONParserException {
+		if (pBytes == null)
+			pBytes = init(new JSONParserByteArray(mode));
+		return pBytes.parse(in, type, genericType);
+	}
+
+	/**
+	 * parses the remaining UTF-8 bytes of the buffer, a <code>null</code> type returns the same as {@link #parse(byte[])}
+	 */
+	public Object parse(ByteBuffer in, Class<?> type, Type genericType) throws JSONParserException {
+		if (pBytes == null)
+			pBytes = init(new JSONParserByteArray(mode));
+		return pBytes.parse(in, type, genericType);
+	}
+
 	/**
 	 * use to return Primitive Type, or String, Or JsonObject or JsonArray
 	 * generated by a ContainerFactory
 	 */
 	public Object parse(Reader in) throws JSONParserException {
 		if (pStream == null)
-			pStream = new JSONParserReader(mode);
+			pStream = init(new JSONParserReader(mode));
 		return pStream.parse(in);
 	}
 
+	/**
+	 * decodes the json objects directly into the given bean type, see {@link JSONParserBase#readTyped(Class, Type, boolean[])}
+	 */
+	public Object parse(Reader in, Class<?> type, Type genericType) throws JSONParserException {
+		if (pStream == null)
+			pStream = init(new JSONParserReader(mode));
+		return pStream.parse(in, type, genericType);
+	}
+
 	/**
 	 * use to return Primitive Type, or String, Or JsonObject or JsonArray
 	 * generated by a ContainerFactory
 	 */
 	public Object parse(InputStream in) throws JSONParserException {
 		if (pSBintream == null)
-			pSBintream = new JSONParserInputStream(mode);
+			pSBintream = init(new JSONParserInputStream(mode));
 		return pSBintream.parse(in);
 	}
+
+	/**
+	 * decodes the json objects directly into the given bean type, see {@link JSONParserBase#readTyped(Class, Type, boolean[])}
+	 */
+	public Object parse(InputStream in, Class<?> type, Type genericType) throws JSONParserException {
+		if (pSBintream == null)
+			pSBintream = init(new JSONParserInputStream(mode));
+		return pSBintream.parse(in, type, genericType);
+	}
 }
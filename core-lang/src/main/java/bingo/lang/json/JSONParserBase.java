@@ -23,13 +23,19 @@ import static bingo.lang.json.JSONParserException.ERROR_UNEXPECTED_TOKEN;
 import static bingo.lang.json.JSONParserException.ERROR_UNEXPECTED_UNICODE;
 
 import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
+import bingo.lang.Converts;
+import bingo.lang.Types;
+
 /**
  * JSONParserBase is the common code between {@link JSONParserString} and
  * {@link JSONParserReader}
@@ -45,6 +51,20 @@ abstract class JSONParserBase {
 	protected static final char MAX_STOP = 126; // '}' -> 125
 	//
 
+	/*
+	 * exact powers of ten used to build the small floating point numbers without parsing their text
+	 */
+	private static final double[] DOUBLE_POW10 = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12,
+			1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+	private static final float[] FLOAT_POW10 = { 1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f };
+
+	/*
+	 * returned by readNumber instead of a boxed number when reading a primitive array, the value is in xl or xd
+	 */
+	protected static final Object UNBOXED_LONG = new Object();
+	protected static final Object UNBOXED_DOUBLE = new Object();
+	private static final int MAX_NUMBER_BUFFER = 4096;
+
 	protected static boolean[] stopAll = new boolean[MAX_STOP];
 	protected static boolean[] stopArray = new boolean[MAX_STOP];
 	protected static boolean[] stopKey = new boolean[MAX_STOP];
@@ -68,6 +88,33 @@ abstract class JSONParserBase {
 	protected String xs;
 	protected int pos;
 
+	/*
+	 * key symbol table, null if the keys are not interned
+	 */
+	protected JSONSymbols symbols;
+	protected boolean readingKey;
+
+	/*
+	 * state of the scanned number, the digits are accumulated negated to hold Long.MIN_VALUE
+	 */
+	private long numValue;
+	private int numDigits;
+	private int numScale;
+	private int numExponent;
+	private int numExponentDigits;
+	private boolean numNegExponent;
+	private boolean numOverflow;
+	private boolean numLeadingZero;
+
+	/*
+	 * unboxed number value
+	 */
+	protected boolean unboxed;
+	protected long xl;
+	protected double xd;
+	private long[] longBuffer;
+	private double[] doubleBuffer;
+
 	/*
 	 * Parssing flags
 	 */
@@ -162,6 +209,140 @@ abstract class JSONParserBase {
 		return result;
 	}
 
+	/**
+	 * same as {@link #parse()}, but the json objects are decoded directly into the given bean type and the bean types of
+	 * its properties, see {@link #readTyped(Class, Type, boolean[])}.
+	 */
+	public Object parse(Class<?> type, Type genericType) throws JSONParserException {
+		this.pos = -1;
+		Object result;
+		try {
+			read();
+			result = readTyped(type, genericType, stopX);
+			if (checkTaillingData) {
+				skipSpace();
+				if (c != EOI)
+					throw new JSONParserException(pos - 1, ERROR_UNEXPECTED_TOKEN, c);
+			}
+		} catch (IOException e) {
+			throw new JSONParserException(pos, e);
+		}
+		xs = null;
+		xo = null;
+		return result;
+	}
+
+	/**
+	 * resets the scanned number, the current char is the first char of the number
+	 */
+	protected void startNumber() {
+		numValue = 0;
+		numDigits = 0;
+		numScale = 0;
+		numExponent = 0;
+		numExponentDigits = -1;
+		numNegExponent = false;
+		numOverflow = false;
+		numLeadingZero = false;
+		if (c >= '0' && c <= '9') {
+			numValue = '0' - c;
+			numDigits = 1;
+		}
+	}
+
+	/**
+	 * same as {@link #skipDigits()}, but accumulates the digits into the scanned number
+	 */
+	protected void readDigits(boolean fraction) throws IOException {
+		for (;;) {
+			if (c < '0' || c > '9')
+				return;
+			if (!fraction && numDigits == 1 && numValue == 0)
+				numLeadingZero = true;
+			if (numDigits < 18) {
+				numValue = numValue * 10 - (c - '0');
+				numDigits++;
+				if (fraction)
+					numScale++;
+			} else {
+				numOverflow = true;
+			}
+			readS();
+		}
+	}
+
+	/**
+	 * the current char is the sign or the first digit of the exponent
+	 */
+	protected void startExponent() {
+		numNegExponent = c == '-';
+		numExponentDigits = 0;
+		if (c >= '0' && c <= '9') {
+			numExponent = c - '0';
+			numExponentDigits = 1;
+		}
+	}
+
+	protected void readExponentDigits() throws IOException {
+		for (;;) {
+			if (c < '0' || c > '9')
+				return;
+			if (numExponent < 10000)
+				numExponent = numExponent * 10 + (c - '0');
+			numExponentDigits++;
+			readS();
+		}
+	}
+
+	/**
+	 * returns the value of the scanned number without parsing its text, or <code>null</code> if the text must be
+	 * parsed (i.e. too many digits, or a value not exactly computable).
+	 * 
+	 * the result is the same as {@link #parseNumber(String)} or {@link #extractFloat()}.
+	 */
+	protected Object numberValue(boolean neg, boolean isFloat, int length) {
+		if (numOverflow || numDigits == 0 || (numLeadingZero && !acceptLeadinZero))
+			return null;
+		if (!isFloat) {
+			long r = neg ? numValue : -numValue;
+			if (unboxed) {
+				xl = r;
+				return UNBOXED_LONG;
+			}
+			if (useIntegerStorage && r >= Integer.MIN_VALUE && r <= Integer.MAX_VALUE)
+				return Integer.valueOf((int) r);
+			return Long.valueOf(r);
+		}
+		if (numExponentDigits == 0)
+			return null;
+		int exponent = (numNegExponent ? -numExponent : numExponent) - numScale;
+		if (useHiPrecisionFloat) {
+			// mantissa and power of ten are exact doubles, a single operation is correctly rounded
+			if (length > 18 || numDigits > 15 || exponent < -22 || exponent > 22)
+				return null;
+			double d = -numValue;
+			d = exponent < 0 ? d / DOUBLE_POW10[-exponent] : d * DOUBLE_POW10[exponent];
+			if (neg)
+				d = -d;
+			if (unboxed) {
+				xd = d;
+				return UNBOXED_DOUBLE;
+			}
+			return Double.valueOf(d);
+		}
+		if (numDigits > 7 || exponent < -10 || exponent > 10)
+			return null;
+		float f = -numValue;
+		f = exponent < 0 ? f / FLOAT_POW10[-exponent] : f * FLOAT_POW10[exponent];
+		if (neg)
+			f = -f;
+		if (unboxed) {
+			xd = f;
+			return UNBOXED_DOUBLE;
+		}
+		return Float.valueOf(f);
+	}
+
 	protected Number parseNumber(String s) throws JSONParserException {
 		// pos
 		int p = 0;
@@ -364,6 +545,285 @@ abstract class JSONParserBase {
 		}
 	}
 
+	/**
+	 * reads a value expected to be of the given type.
+	 * 
+	 * objects of a bindable bean type are decoded by {@link #readBean(JSONBeanCodec)}, arrays of an array or collection
+	 * type are read element by element with the component type, all the other values are read by
+	 * {@link #readMain(boolean[])}.
+	 */
+	protected Object readTyped(Class<?> type, Type genericType, boolean stop[]) throws JSONParserException, IOException {
+		for (;;) {
+			switch (c) {
+			case ' ':
+			case '\r':
+			case '\n':
+			case '\t':
+				read();
+				continue;
+			case '{':
+				if (JSONBeanCodec.isBindable(type))
+					return readBean(JSONBeanCodec.get(type));
+				return readMain(stop);
+			case '[':
+				if (type == int[].class || type == long[].class || type == double[].class)
+					return readPrimitiveArray(type.getComponentType());
+				if (type.isArray())
+					return readTypedArray(type.getComponentType(), type.getComponentType());
+				if (Collection.class.isAssignableFrom(type) && genericType instanceof ParameterizedType)
+					return readTypedArray(Types.getActualTypeArgument(genericType), Types.getTypeArguments(genericType)[0]);
+				return readMain(stop);
+			default:
+				return readMain(stop);
+			}
+		}
+	}
+
+	protected List<Object> readTypedArray(Class<?> elementType, Type elementGenericType) throws JSONParserException, IOException {
+		if (null == elementType || Object.class.equals(elementType))
+			return readArray();
+		List<Object> obj = new ArrayList<Object>();
+		read();
+		boolean needData = false;
+		for (;;) {
+			switch (c) {
+			case ' ':
+			case '\r':
+			case '\n':
+			case '\t':
+				read();
+				continue;
+			case ']':
+				if (needData && !acceptUselessComma)
+					throw new JSONParserException(pos, ERROR_UNEXPECTED_CHAR, c);
+				read(); /* unstack */
+				return obj;
+			case ':':
+			case '}':
+				throw new JSONParserException(pos, ERROR_UNEXPECTED_CHAR, c);
+			case ',':
+				if (needData && !acceptUselessComma)
+					throw new JSONParserException(pos, ERROR_UNEXPECTED_CHAR, c);
+				read();
+				needData = true;
+				continue;
+			case EOI:
+				throw new JSONParserException(pos - 1, ERROR_UNEXPECTED_EOF, "EOF");
+			default:
+				Object value = readTyped(elementType, elementGenericType, stopArray);
+				if (null != value && !elementType.isInstance(value))
+					value = Converts.convert(value, elementType, elementGenericType);
+				obj.add(value);
+				needData = false;
+				continue;
+			}
+		}
+	}
+
+	/**
+	 * reads a json array of numbers into an <code>int[]</code>, <code>long[]</code> or <code>double[]</code> without
+	 * boxing the numbers.
+	 * 
+	 * <p>
+	 * a <code>null</code> element is read as 0, a number out of the range of the component type or a fraction read 
+	 * into an <code>int[]</code> or <code>long[]</code> throws a {@link JSONParserException}.
+	 */
+	protected Object readPrimitiveArray(Class<?> componentType) throws JSONParserException, IOException {
+		boolean isDouble = componentType == double.class;
+		boolean isInt = componentType == int.class;
+		if (isDouble && doubleBuffer == null)
+			doubleBuffer = new double[64];
+		if (!isDouble && longBuffer == null)
+			longBuffer = new long[64];
+		int size = 0;
+		read();
+		boolean needData = false;
+		for (;;) {
+			switch (c) {
+			case ' ':
+			case '\r':
+			case '\n':
+			case '\t':
+				read();
+				continue;
+			case ']':
+				if (needData && !acceptUselessComma)
+					throw new JSONParserException(pos, ERROR_UNEXPECTED_CHAR, c);
+				read(); /* unstack */
+				return toPrimitiveArray(componentType, size);
+			case ':':
+			case '}':
+				throw new JSONParserException(pos, ERROR_UNEXPECTED_CHAR, c);
+			case ',':
+				if (needData && !acceptUselessComma)
+					throw new JSONParserException(pos, ERROR_UNEXPECTED_CHAR, c);
+				read();
+				needData = true;
+				continue;
+			case EOI:
+				throw new JSONParserException(pos - 1, ERROR_UNEXPECTED_EOF, "EOF");
+			default:
+				Object value;
+				if (c == '-' || (c >= '0' && c <= '9')) {
+					unboxed = true;
+					try {
+						value = readNumber(stopArray);
+					} finally {
+						unboxed = false;
+					}
+				} else {
+					value = readMain(stopArray);
+				}
+				if (isDouble) {
+					if (size == doubleBuffer.length) {
+						double[] t = new double[size * 2];
+						System.arraycopy(doubleBuffer, 0, t, 0, size);
+						doubleBuffer = t;
+					}
+					doubleBuffer[size++] = value == UNBOXED_DOUBLE ? xd : value == UNBOXED_LONG ? xl : value == null ? 0 : Converts.convert(value, double.class);
+				} else {
+					if (size == longBuffer.length) {
+						long[] t = new long[size * 2];
+						System.arraycopy(longBuffer, 0, t, 0, size);
+						longBuffer = t;
+					}
+					long l;
+					if (value == UNBOXED_LONG) {
+						l = xl;
+					} else if (value == UNBOXED_DOUBLE) {
+						l = (long) xd;
+						if (l != xd)
+							throw new JSONParserException(pos, ERROR_UNEXPECTED_TOKEN, xd);
+					} else {
+						l = value == null ? 0 : Converts.convert(value, long.class);
+					}
+					if (isInt && (l < Integer.MIN_VALUE || l > Integer.MAX_VALUE))
+						throw new JSONParserException(pos, ERROR_UNEXPECTED_TOKEN, l);
+					longBuffer[size++] = l;
+				}
+				needData = false;
+				continue;
+			}
+		}
+	}
+
+	private Object toPrimitiveArray(Class<?> componentType, int size) {
+		Object array;
+		if (componentType == double.class) {
+			array = new double[size];
+			System.arraycopy(doubleBuffer, 0, array, 0, size);
+		} else if (componentType == long.class) {
+			array = new long[size];
+			System.arraycopy(longBuffer, 0, array, 0, size);
+		} else {
+			int[] ints = new int[size];
+			for (int i = 0; i < size; i++)
+				ints[i] = (int) longBuffer[i];
+			array = ints;
+		}
+		// do not keep the buffers of large arrays
+		if (size > MAX_NUMBER_BUFFER) {
+			longBuffer = null;
+			doubleBuffer = null;
+		}
+		return array;
+	}
+
+	/**
+	 * same as {@link #readObject()}, but the values are set into a new bean instance instead of a map,
+	 * the values of unknown keys are discarded.
+	 *
+	 * <p>
+	 * two keys of the same property, such as a duplicated key or keys differing only by case, are rejected
+	 * as {@link JSONParserException#ERROR_UNEXPECTED_DUPLICATE_KEY}, the same as the duplicated keys of {@link #readObject()}.
+	 */
+	protected Object readBean(JSONBeanCodec codec) throws JSONParserException, IOException {
+		Object    bean = codec.newInstance();
+		boolean[] set  = null;
+
+		boolean needData = false;
+		boolean acceptData = true;
+		for (;;) {
+			read();
+			switch (c) {
+			case ' ':
+			case '\r':
+			case '\t':
+			case '\n':
+				continue;
+			case ':':
+			case ']':
+			case '[':
+			case '{':
+				throw new JSONParserException(pos, ERROR_UNEXPECTED_CHAR, c);
+			case '}':
+				if (needData && !acceptUselessComma)
+					throw new JSONParserException(pos, ERROR_UNEXPECTED_CHAR, c);
+				read(); /* unstack */
+				return bean;
+			case ',':
+				if (needData && !acceptUselessComma)
+					throw new JSONParserException(pos, ERROR_UNEXPECTED_CHAR, c);
+				acceptData = needData = true;
+				continue;
+			case '"':
+			case '\'':
+			default:
+				int keyStart = pos;
+				String key = readKey();
+				if (!acceptData)
+					throw new JSONParserException(pos, ERROR_UNEXPECTED_TOKEN, key);
+				while (c != ':' && c != EOI) {
+					read();
+				}
+				if (c == EOI)
+					throw new JSONParserException(pos - 1, ERROR_UNEXPECTED_EOF, null);
+				readNoEnd(); /* skip : */
+				JSONBeanCodec.Binding binding = codec.getBinding(key);
+				if (null == binding) {
+					readMain(stopValue);
+				} else {
+					if (null == set)
+						set = new boolean[codec.getBindingCount()];
+					if (set[binding.index])
+						throw new JSONParserException(keyStart, ERROR_UNEXPECTED_DUPLICATE_KEY, key);
+					set[binding.index] = true;
+					binding.setValue(bean, readTyped(binding.type, binding.genericType, stopValue));
+				}
+				if (c == '}') {
+					read(); /* unstack */
+					return bean;
+				}
+				if (c == EOI)
+					throw new JSONParserException(pos - 1, ERROR_UNEXPECTED_EOF, null);
+				if (c == ',')
+					acceptData = needData = true;
+				else
+					acceptData = needData = false;
+				continue;
+			}
+		}
+	}
+
+	/**
+	 * reads a quoted or non quoted object key, the key is returned from the symbol table if enabled
+	 */
+	protected String readKey() throws JSONParserException, IOException {
+		readingKey = null != symbols;
+		try {
+			if (c == '\"' || c == '\'') {
+				readString();
+			} else {
+				readNQString(stopKey);
+				if (!acceptNonQuote)
+					throw new JSONParserException(pos, ERROR_UNEXPECTED_TOKEN, xs);
+			}
+		} finally {
+			readingKey = false;
+		}
+		return xs;
+	}
+
 	abstract protected void readNoEnd() throws JSONParserException, IOException;
 
 	abstract protected void readNQString(boolean[] stop) throws IOException;
@@ -405,14 +865,7 @@ abstract class JSONParserBase {
 			case '\'':
 			default:
 				int keyStart = pos;
-				if (c == '\"' || c == '\'') {
-					readString();
-				} else {
-					readNQString(stopKey);
-					if (!acceptNonQuote)
-						throw new JSONParserException(pos, ERROR_UNEXPECTED_TOKEN, xs);
-				}
-				String key = xs;
+				String key = readKey();
 				if (!acceptData)
 					throw new JSONParserException(pos, ERROR_UNEXPECTED_TOKEN, key);
 				while (c != ':' && c != EOI) {
@@ -465,7 +918,7 @@ abstract class JSONParserBase {
 			case '\'':
 				if (sep == c) {
 					read();
-					xs = sb.toString();
+					xs = readingKey ? symbols.get(sb.b, 0, sb.p + 1) : sb.toString();
 					return;
 				}
 				sb.append(c);
@@ -17,13 +17,27 @@ package bingo.lang.json;
  */
 import static bingo.lang.json.JSONParserException.ERROR_UNEXPECTED_EOF;
 
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+
 /**
- * Parser for JSON text. Please note that JSONParser is NOT thread-safe.
+ * Parser for UTF-8 encoded JSON text. Please note that JSONParser is NOT thread-safe.
+ * 
+ * the structural chars, keys and numbers are ASCII and read byte by byte without transcoding,
+ * the non ASCII chars are decoded only when read or extracted.
  * 
  * @author Uriel Chemouni <uchemouni@gmail.com>
  */
 class JSONParserByteArray extends JSONParserMemory {
+	private static final char REPLACEMENT = '\uFFFD';
+
 	private byte[] in;
+	private char[] chars = new char[64];
+
+	// byte length of the current char
+	private int width;
+	// low surrogate of the current supplementary char
+	private char lowSurrogate;
 
 	public JSONParserByteArray(int permissiveMode) {
 		super(permissiveMode);
@@ -34,45 +48,143 @@ class JSONParserByteArray extends JSONParserMemory {
 	 * generated by a ContainerFactory
 	 */
 	public Object parse(byte[] in) throws JSONParserException {
+		return parse(in, in.length, null, null);
+	}
+
+	public Object parse(byte[] in, Class<?> type, Type genericType) throws JSONParserException {
+		return parse(in, in.length, type, genericType);
+	}
+
+	/**
+	 * parses the remaining bytes of the buffer, the position of the buffer is not changed.
+	 */
+	public Object parse(ByteBuffer in, Class<?> type, Type genericType) throws JSONParserException {
+		if (in.hasArray() && in.arrayOffset() + in.position() == 0)
+			return parse(in.array(), in.limit(), type, genericType);
+		byte[] bytes = new byte[in.remaining()];
+		in.duplicate().get(bytes);
+		return parse(bytes, bytes.length, type, genericType);
+	}
+
+	private Object parse(byte[] in, int len, Class<?> type, Type genericType) throws JSONParserException {
 		this.in = in;
-		this.len = in.length;
-		return parse();
+		this.len = len;
+		this.width = 1;
+		this.lowSurrogate = 0;
+		try {
+			return null == type ? parse() : parse(type, genericType);
+		} finally {
+			this.in = null;
+		}
 	}
 
 	protected void extractString(int beginIndex, int endIndex) {
-		xs = new String(in, beginIndex, endIndex - beginIndex);
+		for (int i = beginIndex; i < endIndex; i++) {
+			if (in[i] < 0) {
+				xs = decodeString(beginIndex, endIndex);
+				return;
+			}
+		}
+		// ascii only
+		xs = readingKey ? symbols.get(in, beginIndex, endIndex) : JSONSymbols.ascii(in, beginIndex, endIndex);
 	}
 
 	protected int indexOf(char c, int pos) {
-		for (int i = pos; pos < len; i++)
+		for (int i = pos; i < len; i++)
 			if (in[i] == (byte) c)
 				return i;
 		return -1;
 	}
 
+	protected char charAt(int index) {
+		return (char) (in[index] & 0xFF);
+	}
+
 	protected void read() {
-		if (++pos >= len)
+		if (lowSurrogate != 0) {
+			this.c = lowSurrogate;
+			lowSurrogate = 0;
+			return;
+		}
+		pos += width;
+		if (pos >= len) {
 			this.c = EOI;
-		else
+			width = 1;
+		} else if (in[pos] >= 0) {
 			this.c = (char) in[pos];
+			width = 1;
+		} else
+			readMultiByte();
 	}
 
 	/**
 	 * Same as read() in memory parssing
 	 */
 	protected void readS() {
-		if (++pos >= len)
-			this.c = EOI;
-		else
-			this.c = (char) in[pos];
+		read();
 	}
 
 	protected void readNoEnd() throws JSONParserException {
-		if (++pos >= len) {
-			this.c = EOI;
+		read();
+		if (pos >= len)
 			throw new JSONParserException(pos - 1, ERROR_UNEXPECTED_EOF, "EOF");
+	}
+
+	private void readMultiByte() {
+		int r = decode(in, pos, len);
+		int cp = r & 0xFFFFFF;
+		width = r >>> 24;
+		if (cp >= 0x10000) {
+			cp -= 0x10000;
+			this.c = (char) (0xD800 + (cp >>> 10));
+			lowSurrogate = (char) (0xDC00 + (cp & 0x3FF));
 		} else
-			this.c = (char) in[pos];
+			this.c = (char) cp;
 	}
 
+	private String decodeString(int beginIndex, int endIndex) {
+		char[] buf = endIndex - beginIndex <= chars.length ? chars : new char[endIndex - beginIndex];
+		int n = 0;
+		for (int i = beginIndex; i < endIndex;) {
+			int r = decode(in, i, endIndex);
+			int cp = r & 0xFFFFFF;
+			i += r >>> 24;
+			if (cp >= 0x10000) {
+				cp -= 0x10000;
+				buf[n++] = (char) (0xD800 + (cp >>> 10));
+				buf[n++] = (char) (0xDC00 + (cp & 0x3FF));
+			} else
+				buf[n++] = (char) cp;
+		}
+		return readingKey ? symbols.get(buf, 0, n) : new String(buf, 0, n);
+	}
+
+	/**
+	 * decodes the UTF-8 sequence at the given index, returns the code point in the lower 24 bits and the length of the
+	 * sequence in the upper 8 bits. a malformed sequence is decoded as U+FFFD.
+	 */
+	static int decode(byte[] in, int i, int len) {
+		int b = in[i];
+		if (b >= 0)
+			return (1 << 24) | b;
+		int n;
+		int cp;
+		if ((b & 0xE0) == 0xC0) {
+			n = 2;
+			cp = b & 0x1F;
+		} else if ((b & 0xF0) == 0xE0) {
+			n = 3;
+			cp = b & 0x0F;
+		} else if ((b & 0xF8) == 0xF0) {
+			n = 4;
+			cp = b & 0x07;
+		} else
+			return (1 << 24) | REPLACEMENT;
+		for (int k = 1; k < n; k++) {
+			if (i + k >= len || (in[i + k] & 0xC0) != 0x80)
+				return (k << 24) | REPLACEMENT;
+			cp = (cp << 6) | (in[i + k] & 0x3F);
+		}
+		return (n << 24) | cp;
+	}
 }
@@ -19,15 +19,25 @@ import static bingo.lang.json.JSONParserException.ERROR_UNEXPECTED_EOF;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.reflect.Type;
 
 /**
- * Parser for JSON text. Please note that JSONParser is NOT thread-safe.
+ * Parser for UTF-8 encoded JSON text. Please note that JSONParser is NOT thread-safe.
  * 
  * @author Uriel Chemouni <uchemouni@gmail.com>
  */
 class JSONParserInputStream extends JSONParserStream {
+	private static final char REPLACEMENT = '\uFFFD';
+	private static final int  NO_BYTE     = -2;
+
 	private InputStream in;
 
+	// low surrogate of the last read supplementary char
+	private char lowSurrogate;
+
+	// byte read ahead which ended a malformed sequence, NO_BYTE if none
+	private int pushback = NO_BYTE;
+
 	// len
 	public JSONParserInputStream(int permissiveMode) {
 		super(permissiveMode);
@@ -41,11 +51,28 @@ class JSONParserInputStream extends JSONParserStream {
 			throws JSONParserException {
 		//
 		this.in = in;
-		return super.parse();
+		this.lowSurrogate = 0;
+		this.pushback = NO_BYTE;
+		try {
+			return super.parse();
+		} finally {
+			this.in = null;
+		}
+	}
+
+	public Object parse(InputStream in, Class<?> type, Type genericType) throws JSONParserException {
+		this.in = in;
+		this.lowSurrogate = 0;
+		this.pushback = NO_BYTE;
+		try {
+			return super.parse(type, genericType);
+		} finally {
+			this.in = null;
+		}
 	}
 
 	protected void read() throws IOException {
-		int i = in.read();
+		int i = readChar();
 		c = (i == -1) ? (char) EOI : (char) i;
 		pos++;
 		//
@@ -53,7 +80,7 @@ class JSONParserInputStream extends JSONParserStream {
 
 	protected void readS() throws IOException {
 		sb.append(c);
-		int i = in.read();
+		int i = readChar();
 		if (i == -1) {
 			c = EOI;
 		} else {
@@ -63,10 +90,62 @@ class JSONParserInputStream extends JSONParserStream {
 	}
 
 	protected void readNoEnd() throws JSONParserException, IOException {
-		int i = in.read();
+		int i = readChar();
 		if (i == -1)
 			throw new JSONParserException(pos - 1, ERROR_UNEXPECTED_EOF, "EOF");
 		c = (char) i;
 		//
 	}
+
+	/**
+	 * reads the next UTF-8 encoded char, a malformed sequence is decoded as U+FFFD.
+	 * 
+	 * only the valid prefix of a malformed sequence is consumed, the byte ending it is read again as the next char.
+	 */
+	private int readChar() throws IOException {
+		if (lowSurrogate != 0) {
+			char low = lowSurrogate;
+			lowSurrogate = 0;
+			return low;
+		}
+		int b = readByte();
+		if (b < 0x80)
+			return b;
+		int n;
+		int cp;
+		if ((b & 0xE0) == 0xC0) {
+			n = 2;
+			cp = b & 0x1F;
+		} else if ((b & 0xF0) == 0xE0) {
+			n = 3;
+			cp = b & 0x0F;
+		} else if ((b & 0xF8) == 0xF0) {
+			n = 4;
+			cp = b & 0x07;
+		} else
+			return REPLACEMENT;
+		for (int k = 1; k < n; k++) {
+			int cb = in.read();
+			if ((cb & 0xC0) != 0x80) {
+				pushback = cb;
+				return REPLACEMENT;
+			}
+			cp = (cp << 6) | (cb & 0x3F);
+		}
+		if (cp >= 0x10000) {
+			cp -= 0x10000;
+			lowSurrogate = (char) (0xDC00 + (cp & 0x3FF));
+			return 0xD800 + (cp >>> 10);
+		}
+		return cp;
+	}
+
+	private int readByte() throws IOException {
+		if (pushback != NO_BYTE) {
+			int b = pushback;
+			pushback = NO_BYTE;
+			return b;
+		}
+		return in.read();
+	}
 }
@@ -43,12 +43,15 @@ abstract class JSONParserMemory extends JSONParserBase {
 
 	protected Object readNumber(boolean[] stop) throws JSONParserException, IOException {
 		int start = pos;
+		boolean neg = c == '-';
+		startNumber();
 		// accept first char digit or -
 		read();
-		skipDigits();
+		readDigits(false);
 
 		// Integer digit
 		if (c != '.' && c != 'E' && c != 'e') {
+			int end = pos;
 			skipSpace();
 			if (c >= 0 && c < MAX_STOP && !stop[c] && c != EOI) {
 				// convert string
@@ -58,6 +61,9 @@ abstract class JSONParserMemory extends JSONParserBase {
 					throw new JSONParserException(pos, ERROR_UNEXPECTED_TOKEN, xs);
 				return xs;
 			}
+			Object value = numberValue(neg, false, end - start);
+			if (value != null)
+				return value;
 			extractStringTrim(start, pos);
 			return parseNumber(xs);
 		}
@@ -65,9 +71,10 @@ abstract class JSONParserMemory extends JSONParserBase {
 		if (c == '.') {
 			//
 			read();
-			skipDigits();
+			readDigits(true);
 		}
 		if (c != 'E' && c != 'e') {
+			int end = pos;
 			skipSpace();
 			if (c >= 0 && c < MAX_STOP && !stop[c] && c != EOI) {
 				// convert string
@@ -77,6 +84,9 @@ abstract class JSONParserMemory extends JSONParserBase {
 					throw new JSONParserException(pos, ERROR_UNEXPECTED_TOKEN, xs);
 				return xs;
 			}
+			Object value = numberValue(neg, true, end - start);
+			if (value != null)
+				return value;
 			extractStringTrim(start, pos);
 			return extractFloat();
 		}
@@ -84,8 +94,10 @@ abstract class JSONParserMemory extends JSONParserBase {
 		read();
 		if (c == '+' || c == '-' || c >= '0' && c <= '9') {
 			sb.append(c);
+			startExponent();
 			read(); // skip first char
-			skipDigits();
+			readExponentDigits();
+			int end = pos;
 			skipSpace();
 			if (c >= 0 && c < MAX_STOP && !stop[c] && c != EOI) {
 				// convert string
@@ -95,6 +107,9 @@ abstract class JSONParserMemory extends JSONParserBase {
 					throw new JSONParserException(pos, ERROR_UNEXPECTED_TOKEN, xs);
 				return xs;
 			}
+			Object value = numberValue(neg, true, end - start);
+			if (value != null)
+				return value;
 			extractStringTrim(start, pos);
 			return extractFloat();
 		} else {
@@ -136,8 +151,17 @@ abstract class JSONParserMemory extends JSONParserBase {
 
 	abstract protected int indexOf(char c, int pos);
 
+	/**
+	 * returns the char at the given index, the bytes of a byte array are returned unsigned.
+	 */
+	abstract protected char charAt(int index);
+
+	// trims the range before extracting, so that the keys are looked up in the symbols without a trimmed copy
 	protected void extractStringTrim(int start, int stop) {
+		while (start < stop && charAt(start) <= ' ')
+			start++;
+		while (stop > start && charAt(stop - 1) <= ' ')
+			stop--;
 		extractString(start, stop);
-		xs = xs.trim();
 	}
 }
@@ -19,6 +19,7 @@ import static bingo.lang.json.JSONParserException.ERROR_UNEXPECTED_EOF;
 
 import java.io.IOException;
 import java.io.Reader;
+import java.lang.reflect.Type;
 
 /**
  * Parser for JSON text. Please note that JSONParser is NOT thread-safe.
@@ -26,7 +27,7 @@ import java.io.Reader;
  * @author Uriel Chemouni <uchemouni@gmail.com>
  */
 class JSONParserReader extends JSONParserStream {
-	private Reader in;
+	protected Reader in;
 
 	// len
 	public JSONParserReader(int permissiveMode) {
@@ -40,7 +41,20 @@ class JSONParserReader extends JSONParserStream {
 	public Object parse(Reader in) throws JSONParserException {
 		//
 		this.in = in;
-		return super.parse();
+		try {
+			return super.parse();
+		} finally {
+			this.in = null;
+		}
+	}
+
+	public Object parse(Reader in, Class<?> type, Type genericType) throws JSONParserException {
+		this.in = in;
+		try {
+			return super.parse(type, genericType);
+		} finally {
+			this.in = null;
+		}
 	}
 
 	protected void read() throws IOException {
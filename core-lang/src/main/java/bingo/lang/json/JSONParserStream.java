@@ -37,17 +37,27 @@ abstract class JSONParserStream extends JSONParserBase {
 	protected void readNQString(boolean[] stop) throws IOException {
 		sb.clear();
 		skipNQString(stop);
-		xs = sb.toString().trim();
+		// trims the buffered chars before the lookup, so that the keys are not copied to be trimmed
+		int begin = 0;
+		int end = sb.p + 1;
+		while (begin < end && sb.b[begin] <= ' ')
+			begin++;
+		while (end > begin && sb.b[end - 1] <= ' ')
+			end--;
+		xs = readingKey ? symbols.get(sb.b, begin, end - begin) : new String(sb.b, begin, end - begin);
 	}
 
 	protected Object readNumber(boolean[] stop) throws JSONParserException, IOException {
+		boolean neg = c == '-';
+		startNumber();
 		sb.clear();
 		sb.append(c);// accept first char digit or -
 		read();
-		skipDigits();
+		readDigits(false);
 
 		// Integer digit
 		if (c != '.' && c != 'E' && c != 'e') {
+			int length = sb.p + 1;
 			skipSpace();
 			if (c >= 0 && c < MAX_STOP && !stop[c] && c != EOI) {
 				// convert string
@@ -57,6 +67,9 @@ abstract class JSONParserStream extends JSONParserBase {
 					throw new JSONParserException(pos, ERROR_UNEXPECTED_TOKEN, xs);
 				return xs;
 			}
+			Object value = numberValue(neg, false, length);
+			if (value != null)
+				return value;
 			xs = sb.toString().trim();
 			return parseNumber(xs);
 		}
@@ -64,9 +77,10 @@ abstract class JSONParserStream extends JSONParserBase {
 		if (c == '.') {
 			sb.append(c);
 			read();
-			skipDigits();
+			readDigits(true);
 		}
 		if (c != 'E' && c != 'e') {
+			int length = sb.p + 1;
 			skipSpace();
 			if (c >= 0 && c < MAX_STOP && !stop[c] && c != EOI) {
 				// convert string
@@ -76,6 +90,9 @@ abstract class JSONParserStream extends JSONParserBase {
 					throw new JSONParserException(pos, ERROR_UNEXPECTED_TOKEN, xs);
 				return xs;
 			}
+			Object value = numberValue(neg, true, length);
+			if (value != null)
+				return value;
 			xs = sb.toString().trim();
 			return extractFloat();
 		}
@@ -83,8 +100,10 @@ abstract class JSONParserStream extends JSONParserBase {
 		read();
 		if (c == '+' || c == '-' || c >= '0' && c <= '9') {
 			sb.append(c);
+			startExponent();
 			read(); // skip first char
-			skipDigits();
+			readExponentDigits();
+			int length = sb.p + 1;
 			skipSpace();
 			if (c >= 0 && c < MAX_STOP && !stop[c] && c != EOI) {
 				// convert string
@@ -94,6 +113,9 @@ abstract class JSONParserStream extends JSONParserBase {
 					throw new JSONParserException(pos, ERROR_UNEXPECTED_TOKEN, xs);
 				return xs;
 			}
+			Object value = numberValue(neg, true, length);
+			if (value != null)
+				return value;
 			xs = sb.toString().trim();
 			return extractFloat();
 		} else {
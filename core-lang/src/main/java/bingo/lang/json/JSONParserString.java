@@ -17,6 +17,8 @@ package bingo.lang.json;
  */
 import static bingo.lang.json.JSONParserException.ERROR_UNEXPECTED_EOF;
 
+import java.lang.reflect.Type;
+
 /**
  * Parser for JSON text. Please note that JSONParser is NOT thread-safe.
  * 
@@ -36,17 +38,35 @@ class JSONParserString extends JSONParserMemory {
 	public Object parse(String in) throws JSONParserException {
 		this.in = in;
 		this.len = in.length();
-		return parse();
+		try {
+			return parse();
+		} finally {
+			this.in = null;
+		}
+	}
+
+	public Object parse(String in, Class<?> type, Type genericType) throws JSONParserException {
+		this.in = in;
+		this.len = in.length();
+		try {
+			return parse(type, genericType);
+		} finally {
+			this.in = null;
+		}
 	}
 
 	protected void extractString(int beginIndex, int endIndex) {
-		xs = in.substring(beginIndex, endIndex);
+		xs = readingKey ? symbols.get(in, beginIndex, endIndex) : in.substring(beginIndex, endIndex);
 	}
 
 	protected int indexOf(char c, int pos) {
 		return in.indexOf(c, pos);
 	}
 
+	protected char charAt(int index) {
+		return in.charAt(index);
+	}
+
 	protected void read() {
 		if (++pos >= len)
 			this.c = EOI;
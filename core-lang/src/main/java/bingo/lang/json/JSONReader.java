@@ -0,0 +1,77 @@
+/*
+ * Copyright 2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package bingo.lang.json;
+
+/**
+ * pull based json reader, reads the json text token by token without building the whole document in memory.
+ * 
+ * <p>
+ * a {@link JSONReader} is NOT thread-safe.
+ */
+public interface JSONReader {
+	
+	/**
+	 * moves to the next token and returns it, returns {@link JSONToken#END_DOCUMENT} at the end of the input.
+	 */
+	JSONToken next() throws JSONException;
+	
+	/**
+	 * returns the current token or <code>null</code> if {@link #next()} has not been called yet.
+	 */
+	JSONToken getToken();
+	
+	/**
+	 * returns the number of objects and arrays currently open.
+	 */
+	int getDepth();
+	
+	/**
+	 * returns the property name of the current {@link JSONToken#NAME} token, 
+	 * or the text of the current {@link JSONToken#STRING} token. 
+	 */
+	String getString();
+	
+	Number getNumber();
+	
+	boolean getBoolean();
+	
+	/**
+	 * returns the value of the current {@link JSONToken#STRING}, {@link JSONToken#NUMBER}, 
+	 * {@link JSONToken#BOOLEAN} or {@link JSONToken#NULL} token.
+	 */
+	Object getValue();
+	
+	/**
+	 * reads the whole value starting at the current token, objects and arrays are returned as {@link java.util.Map} and {@link java.util.List}.
+	 * 
+	 * <p>
+	 * if the current token is a {@link JSONToken#NAME} the value of the property is read.
+	 * 
+	 * <p>
+	 * after reading, the current token is the last token of the value.
+	 */
+	Object readValue() throws JSONException;
+	
+	/**
+	 * skips the value starting at the current token without materializing it.
+	 * 
+	 * <p>
+	 * after skipping, the current token is the last token of the value.
+	 */
+	void skipValue() throws JSONException;
+	
+	void close();
+}
@@ -0,0 +1,344 @@
+/*
+ * Copyright 2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package bingo.lang.json;
+
+import static bingo.lang.json.JSONParserException.ERROR_UNEXPECTED_CHAR;
+import static bingo.lang.json.JSONParserException.ERROR_UNEXPECTED_EOF;
+import static bingo.lang.json.JSONParserException.ERROR_UNEXPECTED_TOKEN;
+
+import java.io.IOException;
+import java.io.Reader;
+
+import bingo.lang.io.IO;
+
+/**
+ * {@link JSONReader} on top of the character handling of {@link JSONParserReader}.
+ * 
+ * <p>
+ * scalar values are read by {@link #readMain(boolean[])}, only the open objects and arrays are kept in a scope stack.
+ */
+class JSONReaderImpl extends JSONParserReader implements JSONReader {
+	
+	private static final int SCOPE_OBJECT = 1;
+	private static final int SCOPE_ARRAY  = 2;
+	
+	private int[]     scopes = new int[16];
+	private int       depth;
+	private JSONToken token;
+	private Object    value;
+	
+	private boolean   started;
+	private boolean   pendingOpen; //current char is still the '{' or '[' of the current start token
+	private boolean   needComma;   //a value has been completed in the current scope
+	private boolean   expectValue; //a property name has been read, the value is expected
+
+	JSONReaderImpl(Reader in) {
+		this(in,JSONParser.MODE_PERMISSIVE);
+	}
+	
+	JSONReaderImpl(Reader in,int permissiveMode) {
+		super(permissiveMode);
+		this.in  = in;
+		this.pos = -1;
+	}
+	
+	JSONReaderImpl(Reader in,JSONSettings settings) {
+		this(in);
+		if(settings.isInternKeys()){
+			this.symbols = new JSONSymbols();
+		}
+	}
+	
+	public JSONToken next() throws JSONException {
+		try {
+	        return token = nextToken();
+        } catch (IOException e) {
+        	throw new JSONParserException(pos, e);
+        }
+	}
+	
+	public JSONToken getToken() {
+	    return token;
+    }
+
+	public int getDepth() {
+	    return depth;
+    }
+	
+	public String getString() {
+		if(token != JSONToken.NAME && token != JSONToken.STRING){
+			throw new JSONException("current token '{0}' is not a name or string",token);
+		}
+	    return (String)value;
+    }
+	
+	public Number getNumber() {
+		if(token != JSONToken.NUMBER){
+			throw new JSONException("current token '{0}' is not a number",token);
+		}
+	    return (Number)value;
+    }
+	
+	public boolean getBoolean() {
+		if(token != JSONToken.BOOLEAN){
+			throw new JSONException("current token '{0}' is not a boolean",token);
+		}
+	    return ((Boolean)value).booleanValue();
+    }
+
+	public Object getValue() {
+		if(null == token || !token.isValue()){
+			throw new JSONException("current token '{0}' is not a value",token);
+		}
+	    return value;
+    }
+	
+	public Object readValue() throws JSONException {
+		if(token == JSONToken.NAME){
+			next();
+		}
+		
+		if(token == JSONToken.START_OBJECT || token == JSONToken.START_ARRAY){
+			try {
+				pendingOpen = false;
+				
+				Object container = token == JSONToken.START_OBJECT ? readObject() : readArray();
+				
+				endScope();
+				
+				return container;
+            } catch (IOException e) {
+            	throw new JSONParserException(pos, e);
+            }
+		}
+		
+	    return getValue();
+    }
+
+	public void skipValue() throws JSONException {
+		if(token == JSONToken.NAME){
+			next();
+		}
+		
+		if(token == JSONToken.START_OBJECT || token == JSONToken.START_ARRAY){
+			try {
+				pendingOpen = false;
+				
+				int level = 0;
+				for(;;){
+					switch (c) {
+                    case '{':
+                    case '[':
+                    	level++;
+	                    break;
+                    case '}':
+                    case ']':
+                    	if(--level == 0){
+                    		read();
+                    		endScope();
+                    		return;
+                    	}
+                    	break;
+                    case '"':
+                    	skipQuoted();
+                    	break;
+                    case '\'':
+                    	if(acceptSimpleQuote){
+                    		skipQuoted();
+                    	}
+                    	break;
+                    case EOI:
+                    	throw new JSONParserException(pos - 1, ERROR_UNEXPECTED_EOF, "EOF");
+                    }
+					read();
+				}
+            } catch (IOException e) {
+            	throw new JSONParserException(pos, e);
+            }
+		}
+		
+		getValue();
+    }
+	
+	public void close() {
+		IO.close(in);
+	}
+	
+	private JSONToken nextToken() throws JSONParserException, IOException {
+		if(token == JSONToken.END_DOCUMENT){
+			return token;
+		}
+		
+		if(!started){
+			started = true;
+			read();
+		}
+		
+		if(pendingOpen){
+			pendingOpen = false;
+			read();
+		}
+		
+		skipSpaces();
+		
+		//top level
+		if(depth == 0){
+			if(null == token && c != EOI){
+				return readValueToken(stopX);
+			}
+			
+			if(checkTaillingData && c != EOI){
+				throw new JSONParserException(pos, ERROR_UNEXPECTED_TOKEN, c);
+			}
+			
+			return JSONToken.END_DOCUMENT;
+		}
+		
+		int scope = scopes[depth - 1];
+		
+		if(expectValue){
+			expectValue = false;
+			return readValueToken(stopValue);
+		}
+		
+		boolean comma = false;
+		if(c == ','){
+			if(!needComma && !acceptUselessComma){
+				throw new JSONParserException(pos, ERROR_UNEXPECTED_CHAR, c);
+			}
+			comma = true;
+			read();
+			skipSpaces();
+		}
+		
+		if(c == (scope == SCOPE_OBJECT ? '}' : ']')){
+			if(comma && !acceptUselessComma){
+				throw new JSONParserException(pos, ERROR_UNEXPECTED_CHAR, c);
+			}
+			read();
+			return endScope();
+		}
+		
+		if(c == EOI){
+			throw new JSONParserException(pos - 1, ERROR_UNEXPECTED_EOF, "EOF");
+		}
+		
+		if(needComma && !comma){
+			throw new JSONParserException(pos, ERROR_UNEXPECTED_CHAR, c);
+		}
+		
+		needComma = false;
+		
+		if(scope == SCOPE_ARRAY){
+			return readValueToken(stopArray);
+		}
+		
+		//property name
+		switch (c) {
+        case ':':
+        case ']':
+        case '[':
+        case '{':
+        case '}':
+        	throw new JSONParserException(pos, ERROR_UNEXPECTED_CHAR, c);
+        default:
+        	value = readKey();
+        }
+		
+		while (c != ':' && c != EOI) {
+			read();
+		}
+		if (c == EOI){
+			throw new JSONParserException(pos - 1, ERROR_UNEXPECTED_EOF, null);
+		}
+		
+		readNoEnd(); /* skip : */
+		expectValue = true;
+		
+		return JSONToken.NAME;
+	}
+	
+	private JSONToken readValueToken(boolean[] stop) throws JSONParserException, IOException {
+		switch (c) {
+        case '{':
+        	return startScope(SCOPE_OBJECT);
+        case '[':
+        	return startScope(SCOPE_ARRAY);
+        case EOI:
+        	throw new JSONParserException(pos - 1, ERROR_UNEXPECTED_EOF, "EOF");
+        case ',':
+        	throw new JSONParserException(pos, ERROR_UNEXPECTED_CHAR, c);
+        }
+		
+		value     = readMain(stop);
+		needComma = true;
+		
+		if(null == value){
+			return JSONToken.NULL;
+		}else if(value instanceof String){
+			return JSONToken.STRING;
+		}else if(value instanceof Boolean){
+			return JSONToken.BOOLEAN;
+		}else{
+			return JSONToken.NUMBER;
+		}
+	}
+	
+	private JSONToken startScope(int scope) {
+		if(depth == scopes.length){
+			int[] a = new int[depth * 2];
+			System.arraycopy(scopes, 0, a, 0, depth);
+			scopes = a;
+		}
+		
+		scopes[depth++] = scope;
+		value       = null;
+		pendingOpen = true;
+		needComma   = false;
+		
+		return scope == SCOPE_OBJECT ? JSONToken.START_OBJECT : JSONToken.START_ARRAY;
+	}
+	
+	private JSONToken endScope() {
+		int scope = scopes[--depth];
+		
+		value     = null;
+		needComma = true;
+		
+		return token = (scope == SCOPE_OBJECT ? JSONToken.END_OBJECT : JSONToken.END_ARRAY);
+	}
+	
+	private void skipQuoted() throws JSONParserException, IOException {
+		char quote = c;
+		for(;;){
+			read();
+			if(c == EOI){
+				throw new JSONParserException(pos - 1, ERROR_UNEXPECTED_EOF, "EOF");
+			}
+			if(c == '\\'){
+				read();
+			}else if(c == quote){
+				return;
+			}
+		}
+	}
+	
+	private void skipSpaces() throws IOException {
+		while(c == ' ' || c == '\r' || c == '\n' || c == '\t'){
+			read();
+		}
+	}
+}
@@ -15,30 +15,34 @@
  */
 package bingo.lang.json;
 
-class JSONSettings {
+public class JSONSettings {
     
-    static final int COMPRESS      = 1;
-    static final int KEY_NON_QUOTE = 2;
-    static final int IGNORE_NULL   = 4;
-    static final int IGNORE_EMPTY  = 8;
+    public static final int COMPRESS      = 1;
+    public static final int KEY_NON_QUOTE = 2;
+    public static final int IGNORE_NULL   = 4;
+    public static final int IGNORE_EMPTY  = 8;
+    public static final int INTERN_KEYS   = 16;
     
     private final boolean isCompress;
     private final boolean isKeyQuoted;
     private final boolean isIgnoreNull;
     private final boolean isIgnoreEmpty;
+    private final boolean isInternKeys;
     
-    JSONSettings() {
+    public JSONSettings() {
         isCompress    = false;
         isKeyQuoted   = true;
         isIgnoreNull  = false;
         isIgnoreEmpty = false;
+        isInternKeys  = false;
     }
 
-    JSONSettings(int setting){
+    public JSONSettings(int setting){
         this.isCompress    = (setting & COMPRESS) > 0; 
         this.isKeyQuoted   = (setting & KEY_NON_QUOTE) == 0;
         this.isIgnoreNull  = (setting & IGNORE_NULL) > 0;
         this.isIgnoreEmpty = (setting & IGNORE_EMPTY) > 0;
+        this.isInternKeys  = (setting & INTERN_KEYS) > 0;
     }
 
     public boolean isCompress() {
@@ -56,4 +60,12 @@ class JSONSettings {
     public boolean isIgnoreEmpty() {
         return isIgnoreEmpty;
     }
+
+    /**
+     * returns <code>true</code> if the decoded object keys are shared by a bounded symbol table
+     * instead of creating a new {@link String} for every key.
+     */
+    public boolean isInternKeys() {
+        return isInternKeys;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package bingo.lang.json;
+
+/**
+ * bounded symbol table of the decoded object keys, not thread-safe.
+ *
+ * <p>
+ * the chars of a key are hashed in place and the canonical {@link String} of the same chars is returned,
+ * a new {@link String} is created only when the slot of the hash is empty or holds another key.
+ */
+final class JSONSymbols {
+
+	static final int DEFAULT_SIZE = 1024;
+
+	//keys longer than this are never cached.
+	static final int MAX_LENGTH = 64;
+
+	private final String[] symbols;
+	private final int      mask;
+
+	JSONSymbols(){
+		this(DEFAULT_SIZE);
+	}
+
+	JSONSymbols(int size){
+		int capacity = 16;
+		while(capacity < size){
+			capacity <<= 1;
+		}
+		this.symbols = new String[capacity];
+		this.mask    = capacity - 1;
+	}
+
+	String get(char[] chars,int offset,int length) {
+		if(length > MAX_LENGTH){
+			return new String(chars,offset,length);
+		}
+
+		int hash = 0;
+		for(int i=0;i<length;i++){
+			hash = 31 * hash + chars[offset + i];
+		}
+
+		int    index  = index(hash);
+		String symbol = symbols[index];
+
+		if(null != symbol && symbol.length() == length && symbol.hashCode() == hash){
+			int i = 0;
+			while(i < length && symbol.charAt(i) == chars[offset + i]){
+				i++;
+			}
+			if(i == length){
+				return symbol;
+			}
+		}
+
+		return symbols[index] = new String(chars,offset,length);
+	}
+
+	String get(String string,int beginIndex,int endIndex) {
+		int length = endIndex - beginIndex;
+
+		if(length > MAX_LENGTH){
+			return string.substring(beginIndex,endIndex);
+		}
+
+		int hash = 0;
+		for(int i=beginIndex;i<endIndex;i++){
+			hash = 31 * hash + string.charAt(i);
+		}
+
+		int    index  = index(hash);
+		String symbol = symbols[index];
+
+		if(null != symbol && symbol.length() == length && symbol.hashCode() == hash && string.regionMatches(beginIndex, symbol, 0, length)){
+			return symbol;
+		}
+
+		return symbols[index] = string.substring(beginIndex,endIndex);
+	}
+
+	/**
+	 * same as {@link #get(char[], int, int)} for ASCII bytes.
+	 */
+	String get(byte[] bytes,int beginIndex,int endIndex) {
+		int length = endIndex - beginIndex;
+
+		if(length > MAX_LENGTH){
+			return ascii(bytes,beginIndex,endIndex);
+		}
+
+		int hash = 0;
+		for(int i=beginIndex;i<endIndex;i++){
+			hash = 31 * hash + bytes[i];
+		}
+
+		int    index  = index(hash);
+		String symbol = symbols[index];
+
+		if(null != symbol && symbol.length() == length && symbol.hashCode() == hash){
+			int i = 0;
+			while(i < length && symbol.charAt(i) == bytes[beginIndex + i]){
+				i++;
+			}
+			if(i == length){
+				return symbol;
+			}
+		}
+
+		return symbols[index] = ascii(bytes,beginIndex,endIndex);
+	}
+
+	/**
+	 * returns the string of the given ASCII bytes.
+	 */
+	static String ascii(byte[] bytes,int beginIndex,int endIndex) {
+		char[] chars = new char[endIndex - beginIndex];
+		for(int i=0;i<chars.length;i++){
+			chars[i] = (char)bytes[beginIndex + i];
+		}
+		return new String(chars);
+	}
+
+	private int index(int hash) {
+		return (hash ^ (hash >>> 16)) & mask;
+	}
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package bingo.lang.json;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * {@link Appendable} encoding the appended chars as UTF-8 into a fixed size byte buffer,
+ * the buffer is written to the underlying {@link OutputStream} every time it is full.
+ */
+final class JSONUtf8Output implements Appendable {
+
+	static final int DEFAULT_BUFFER_SIZE = 8192;
+
+	private final OutputStream out;
+	private final byte[]       buf;
+	private int                pos;
+	private char               highSurrogate;
+
+	JSONUtf8Output(OutputStream out){
+		this(out,new byte[DEFAULT_BUFFER_SIZE]);
+	}
+
+	JSONUtf8Output(OutputStream out,byte[] buffer){
+		this.out = out;
+		this.buf = buffer;
+	}
+
+	public Appendable append(CharSequence csq) throws IOException {
+		if(null == csq){
+			csq = JSONWriterImpl.NULL_STRING;
+		}
+	    return append(csq,0,csq.length());
+    }
+
+	public Appendable append(CharSequence csq, int start, int end) throws IOException {
+		if(null == csq){
+			csq = JSONWriterImpl.NULL_STRING;
+		}
+
+		for(int i=start;i<end;i++){
+			char c = csq.charAt(i);
+
+			if(c < 0x80 && 0 == highSurrogate){
+				if(pos == buf.length){
+					flushBuffer();
+				}
+				buf[pos++] = (byte)c;
+			}else{
+				append(c);
+			}
+		}
+
+	    return this;
+    }
+
+	public Appendable append(char c) throws IOException {
+		if(pos + 4 > buf.length){
+			flushBuffer();
+		}
+
+		if(0 != highSurrogate){
+			if(Character.isLowSurrogate(c)){
+				int cp = Character.toCodePoint(highSurrogate, c);
+
+				highSurrogate = 0;
+
+				buf[pos++] = (byte)(0xF0 | (cp >> 18));
+				buf[pos++] = (byte)(0x80 | ((cp >> 12) & 0x3F));
+				buf[pos++] = (byte)(0x80 | ((cp >> 6) & 0x3F));
+				buf[pos++] = (byte)(0x80 | (cp & 0x3F));
+				return this;
+			}
+
+			//unpaired high surrogate
+			highSurrogate = 0;
+			buf[pos++]    = '?';
+
+			if(pos + 4 > buf.length){
+				flushBuffer();
+			}
+		}
+
+		if(c < 0x80){
+			buf[pos++] = (byte)c;
+		}else if(c < 0x800){
+			buf[pos++] = (byte)(0xC0 | (c >> 6));
+			buf[pos++] = (byte)(0x80 | (c & 0x3F));
+		}else if(Character.isHighSurrogate(c)){
+			highSurrogate = c;
+		}else if(Character.isLowSurrogate(c)){
+			//unpaired low surrogate
+			buf[pos++] = '?';
+		}else{
+			buf[pos++] = (byte)(0xE0 | (c >> 12));
+			buf[pos++] = (byte)(0x80 | ((c >> 6) & 0x3F));
+			buf[pos++] = (byte)(0x80 | (c & 0x3F));
+		}
+
+	    return this;
+    }
+
+	/**
+	 * writes all the buffered bytes to the underlying {@link OutputStream}.
+	 */
+	void flush() throws IOException {
+		if(0 != highSurrogate){
+			highSurrogate = 0;
+			append('?');
+		}
+		flushBuffer();
+	}
+
+	private void flushBuffer() throws IOException {
+		if(pos > 0){
+			out.write(buf, 0, pos);
+			pos = 0;
+		}
+	}
+}
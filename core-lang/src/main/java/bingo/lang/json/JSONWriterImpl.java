@@ -17,6 +17,7 @@ package bingo.lang.json;
 
 
 import java.io.IOException;
+import java.io.Writer;
 import java.math.BigDecimal;
 import java.util.Date;
 
@@ -42,6 +43,22 @@ public class JSONWriterImpl implements JSONWriter {
 	static final char   DOUBLE_QUOTE  = '"';
 	static final char   COMMA_CHAR    = ',';
 	
+	//escaped forms of the ascii chars must be escaped in a json string, null for the others.
+	static final String[] ESCAPES = new String[128];
+	
+	static {
+		for(int i=0;i<0x20;i++){
+			ESCAPES[i] = "\\u00" + HEX_CHARS[i >> 4] + HEX_CHARS[i & 0xF];
+		}
+		ESCAPES['"']  = "\\\"";
+		ESCAPES['\\'] = "\\\\";
+		ESCAPES['\b'] = "\\b";
+		ESCAPES['\t'] = "\\t";
+		ESCAPES['\n'] = "\\n";
+		ESCAPES['\f'] = "\\f";
+		ESCAPES['\r'] = "\\r";
+	}
+	
 	private boolean   isKeyQuoted;
 	private boolean   isIgnoreNull;
 	private Appendable out;
@@ -52,6 +69,13 @@ public class JSONWriterImpl implements JSONWriter {
 	    this.isIgnoreNull = isIgnoreNull;
 	}
 	
+	/**
+	 * switches the output, used by {@link JSONEncoder} to reuse the writer.
+	 */
+	void reset(Appendable out){
+		this.out = out;
+	}
+	
 	public JSONWriter startObject() {
         try {
     		out.append(OPEN_OBJECT);
@@ -353,7 +377,9 @@ public class JSONWriterImpl implements JSONWriter {
 	public JSONWriter name(String key) {
         try {
         	if(isKeyQuoted){
-        		out.append(DOUBLE_QUOTE).append(key).append(DOUBLE_QUOTE);   
+        		out.append(DOUBLE_QUOTE);
+        		escape(null == key ? NULL_STRING : key);
+        		out.append(DOUBLE_QUOTE);
         	}else{
         		out.append(key);	
         	}
@@ -364,6 +390,15 @@ public class JSONWriterImpl implements JSONWriter {
         return this;
     }
 	
+	JSONWriter name(JSONBeanCodec.Property property) {
+        try {
+        	out.append(isKeyQuoted ? property.quotedKey : property.unquotedKey);
+        } catch (IOException e) {
+        	wrapAndThrow(e);
+        }
+        return this;
+	}
+	
     public JSONWriter value(String string) {
         try {
             if (string == null) {
@@ -371,38 +406,8 @@ public class JSONWriterImpl implements JSONWriter {
             }else if(string.length() == 0){
             	out.append(EMPTY_STRING);
             }else{
-                char c   = 0;
-                int  len = string.length();
-
-                out.append(DOUBLE_QUOTE);
-                for (int i = 0; i < len; i++) {
-                    c = string.charAt(i);
-                    switch (c) {
-                    case '\\':
-                        out.append("\\\\");
-                        break;
-                    case '"':
-                    	out.append("\\\"");
-                        break;
-                    case '\b':
-                    	out.append("\\b");
-                        break;
-                    case '\t':
-                    	out.append("\\t");
-                        break;
-                    case '\n':
-                    	out.append("\\n");
-                        break;
-                    case '\f':
-                    	out.append("\\f");
-                        break;
-                    case '\r':
-                    	out.append("\\r");
-                        break;
-                    default:
-                    	out.append(c);
-                    }
-                }
+            	out.append(DOUBLE_QUOTE);
+            	escape(string);
                 out.append(DOUBLE_QUOTE);
             }
         } catch (IOException e) {
@@ -411,6 +416,45 @@ public class JSONWriterImpl implements JSONWriter {
         
         return this;
     }
+    
+    /**
+     * appends the escaped string, the runs of chars need no escaping are appended at once.
+     */
+    private void escape(String string) throws IOException {
+    	int len   = string.length();
+    	int start = 0;
+    	
+    	for(int i=0;i<len;i++){
+    		char c = string.charAt(i);
+    		
+    		if(c < ESCAPES.length){
+    			String escaped = ESCAPES[c];
+    			
+    			if(null != escaped){
+    				if(i > start){
+    					append(string,start,i);
+    				}
+    				out.append(escaped);
+    				start = i + 1;
+    			}
+    		}
+    	}
+    	
+    	if(start == 0){
+    		out.append(string);
+    	}else if(start < len){
+    		append(string,start,len);
+    	}
+    }
+    
+    private void append(String string,int start,int end) throws IOException {
+    	if(out instanceof Writer){
+    		//Writer.append(CharSequence,int,int) creates a sub sequence
+    		((Writer)out).write(string,start,end - start);
+    	}else{
+    		out.append(string,start,end);
+    	}
+    }
 	
     public JSONWriter nullValue() {
         try {
@@ -470,6 +514,12 @@ public class JSONWriterImpl implements JSONWriter {
 	    return out.toString();
     }
     
+	static String quote(String string) {
+		StringBuilder out = new StringBuilder(string.length() + 2);
+		new JSONWriterImpl(out, true, false).value(string);
+		return out.toString();
+	}
+	
 	private void wrapAndThrow(IOException e){
 		throw new JSONException(e.getMessage(),e);
 	}
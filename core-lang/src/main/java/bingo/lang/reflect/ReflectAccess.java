@@ -0,0 +1,53 @@
+/*
+ * Copyright 2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package bingo.lang.reflect;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * selects the {@link ReflectAccessor} backend used to access the members of the annotated class.
+ *
+ * <p>
+ * the default backend of the classes not annotated is read from the system property {@value #BACKEND_PROPERTY},
+ * <code>generated</code> if not set.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+@Documented
+public @interface ReflectAccess {
+	
+	String BACKEND_PROPERTY = "bingo.reflect.accessor";
+	
+	Backend value();
+	
+	public static enum Backend {
+		
+		/**
+		 * generates an accessor class with the asm bytecode writer, the members are accessed without reflection.
+		 */
+		GENERATED,
+		
+		/**
+		 * accesses the members through {@link java.lang.reflect.Field} and {@link java.lang.reflect.Method},
+		 * no accessor class is generated.
+		 */
+		REFLECTION;
+	}
+}
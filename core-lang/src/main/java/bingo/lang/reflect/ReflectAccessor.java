@@ -16,7 +16,9 @@
 package bingo.lang.reflect;
 
 import static bingo.lang.asm.Opcodes.AALOAD;
+import static bingo.lang.asm.Opcodes.ACC_FINAL;
 import static bingo.lang.asm.Opcodes.ACC_PUBLIC;
+import static bingo.lang.asm.Opcodes.ACC_STATIC;
 import static bingo.lang.asm.Opcodes.ACC_VARARGS;
 import static bingo.lang.asm.Opcodes.ACONST_NULL;
 import static bingo.lang.asm.Opcodes.ALOAD;
@@ -42,7 +44,11 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 import bingo.lang.Primitives;
@@ -51,16 +57,41 @@ import bingo.lang.asm.Label;
 import bingo.lang.asm.MethodVisitor;
 import bingo.lang.asm.Opcodes;
 import bingo.lang.asm.Type;
+import bingo.lang.codec.Digests;
 import bingo.lang.exceptions.ReflectException;
 
 public abstract class ReflectAccessor {
     
     private static final String CLASS_NAME = ReflectAccessor.class.getName().replaceAll("\\.", "/");
     
+    private static final ReflectAccess.Backend DEFAULT_BACKEND = getDefaultBackend();
+    
+    static final String ACCESSOR_CLASS_SUFFIX = "_BingoReflectAccessor_";
+    
+    //the static field of the generated class holding the signature of the members it was generated from.
+    static final String SIGNATURE_FIELD = "SIGNATURE";
+    
+    private static final Comparator<Method> METHOD_ORDER = new Comparator<Method>() {
+		public int compare(Method m1, Method m2) {
+			int result = m1.getName().compareTo(m2.getName());
+			return result != 0 ? result : Type.getMethodDescriptor(m1).compareTo(Type.getMethodDescriptor(m2));
+        }
+	};
+	
+	private static final Comparator<Field> FIELD_ORDER = new Comparator<Field>() {
+		public int compare(Field f1, Field f2) {
+			return f1.getName().compareTo(f2.getName());
+        }
+	};
+    
 	Field[]  	   fields;
 	Method[] 	   methods;
 	Constructor<?> constructor;
 	
+	private final Map<Field, Integer>  fieldIndexes     = new HashMap<Field, Integer>();
+	private final Map<String, Integer> fieldNameIndexes = new HashMap<String, Integer>();
+	private final Map<Method, Integer> methodIndexes    = new HashMap<Method, Integer>();
+	
 	public boolean canNewInstance() {
 		return null != constructor;
 	}
@@ -82,89 +113,116 @@ public abstract class ReflectAccessor {
 	public abstract Object getField(Object object, int fieldIndex);
 
     int getMethodIndex(Method method) {
-        for (int i = 0, n = methods.length; i < n; i++) {
-            if(method.equals(methods[i])){
-                return i;
-            }
-        }
-        return -1;
+    	Integer index = methodIndexes.get(method);
+        return null == index ? -1 : index;
     }
     
     int getFieldIndex(Field field){
-        for (int i = 0, n = fields.length; i < n; i++) {
-            if(field.equals(fields[i])){
-                return i;
-            }
-        }
-        return -1;
+    	Integer index = fieldIndexes.get(field);
+        return null == index ? -1 : index;
     }
     
     int getFieldIndex(String name){
-        for (int i = 0, n = fields.length; i < n; i++) {
-            if(name.equals(fields[i].getName())){
-                return i;
-            }
-        }
-        return -1;
+    	Integer index = fieldNameIndexes.get(name);
+        return null == index ? -1 : index;
+    }
+    
+    private void initialize(Method[] methods,Field[] fields,Constructor<?> constructor) {
+    	this.methods     = methods;
+    	this.fields      = fields;
+    	this.constructor = constructor;
+    	
+    	//the first index of a member wins, as the linear search did.
+    	for(int i=methods.length - 1;i >= 0;i--){
+    		methodIndexes.put(methods[i], i);
+    	}
+    	
+    	for(int i=fields.length - 1;i >= 0;i--){
+    		fieldIndexes.put(fields[i], i);
+    		fieldNameIndexes.put(fields[i].getName(), i);
+    	}
     }
     
+    /**
+     * returns <code>null</code> if the type selects the {@link ReflectAccess.Backend#REFLECTION} backend.
+     */
     static ReflectAccessor createFor(Class<?> type){
-    	synchronized (type) {
-            ReflectLoader loader = new ReflectLoader(type.getClassLoader());
-            
-            String typeClassName      = type.getName();
-            String accessorClassName  = getAccessorClassNameFor(type);
-            Class<?> accessorClass    = null;
-            
-            try {
-                accessorClass = loader.loadClass(accessorClassName);
-            } catch (ClassNotFoundException ignored) {
+    	if(ReflectAccess.Backend.REFLECTION == getBackend(type)){
+    		return null;
+    	}
+    	
+        Method[] methods = getAccessibleMethods(type);
+        Field[]  fields  = getAccessibleFields(type);
+        
+        String         accessorClassName = getAccessorClassNameFor(type,methods,fields);
+        String         signature         = getSignatureFor(methods,fields);
+        Constructor<?> c                 = getDefaultConstructor(type,accessorClassName.startsWith(type.getName()));
+        ReflectLoader  loader            = new ReflectLoader(type.getClassLoader());
+        
+        //generated at build time by ReflectAccessorGenerator or already generated at runtime.
+        Class<?> accessorClass = loader.findAccessorClass(accessorClassName,signature);
+        
+        if(null == accessorClass){
+        	synchronized (type) {
+        		accessorClass = loader.findAccessorClass(accessorClassName,signature);
+        		
+        		if(null == accessorClass){
+        			//a class of the same name generated from other members is never used, its switch indexes may not match.
+        			String runtimeClassName = loader.isLoadable(accessorClassName) ? accessorClassName + "_" + signature : accessorClassName;
+        			
+        			accessorClass = loader.findAccessorClass(runtimeClassName,signature);
+        			
+        			if(null == accessorClass){
+        				accessorClass = loader.defineClass(runtimeClassName, generate(type,runtimeClassName,methods,fields));
+        			}
+        		}
             }
-            
-            Method[] methods = getAccessibleMethods(type);
-            Field[]  fields  = getAccessibleFields(type);
-            Constructor<?> c = getDefaultConstructor(type,accessorClassName.startsWith(typeClassName));
-            
-            if (accessorClass == null) {
-                String accessorClassNameInternal = accessorClassName.replace('.', '/');
-                String typeClassNameInternal     = typeClassName.replace('.', '/');
+        }
+        
+        try {
+            ReflectAccessor accessor = (ReflectAccessor)accessorClass.newInstance();
+            accessor.initialize(methods, fields, c);
+            return accessor;
+        } catch (Exception ex) {
+            throw new ReflectException("Error constructing reflect accessor class: {0}",accessorClassName,ex);
+        }
+    }
+    
+    /**
+     * returns the bytecode of the accessor class of the given type and accessible members,
+     * the {@link #getSignatureFor(Method[], Field[]) signature} of the members is written into the static field {@value #SIGNATURE_FIELD}.
+     */
+    static byte[] generate(Class<?> type,String accessorClassName,Method[] methods,Field[] fields){
+        String typeClassName = type.getName();
+        
+        String accessorClassNameInternal = accessorClassName.replace('.', '/');
+        String typeClassNameInternal     = typeClassName.replace('.', '/');
 
-                ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
-                
-                defineAccessorConstructor(accessorClassNameInternal,cw);
-                
-                defineNewInstance(typeClassNameInternal,cw);
-                
-                defineNewArray(type,typeClassNameInternal,cw);
-                
-                defineGetArrayLength(type, cw);
-                
-                defineGetArrayItem(type, cw);
-                
-                defineSetArrayItem(type, cw);
-                
-                defineInvokeMethod(typeClassNameInternal,methods, cw);
-                
-                defineSetField(typeClassNameInternal,fields, cw);
-                
-                defineGetField(typeClassNameInternal,fields, cw);
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        
+        defineAccessorConstructor(accessorClassNameInternal,cw);
+        
+        cw.visitField(ACC_PUBLIC | ACC_STATIC | ACC_FINAL, SIGNATURE_FIELD, "Ljava/lang/String;", null, getSignatureFor(methods, fields)).visitEnd();
+        
+        defineNewInstance(typeClassNameInternal,cw);
+        
+        defineNewArray(type,typeClassNameInternal,cw);
+        
+        defineGetArrayLength(type, cw);
+        
+        defineGetArrayItem(type, cw);
+        
+        defineSetArrayItem(type, cw);
+        
+        defineInvokeMethod(typeClassNameInternal,methods, cw);
+        
+        defineSetField(typeClassNameInternal,fields, cw);
+        
+        defineGetField(typeClassNameInternal,fields, cw);
 
-                cw.visitEnd();
-                
-                byte[] data   = cw.toByteArray();
-                accessorClass = loader.defineClass(accessorClassName, data);
-            }
-            
-            try {
-                ReflectAccessor accessor = (ReflectAccessor)accessorClass.newInstance();
-                accessor.methods     = methods;
-                accessor.fields      = fields;
-                accessor.constructor = c;
-                return accessor;
-            } catch (Exception ex) {
-                throw new ReflectException("Error constructing reflect accessor class: {0}",accessorClassName,ex);
-            }
-        }
+        cw.visitEnd();
+        
+        return cw.toByteArray();
     }
     
     private static void defineAccessorConstructor(String accessorClassNameInternal,ClassWriter cw){
@@ -767,6 +825,31 @@ public abstract class ReflectAccessor {
         mv.visitEnd();
     }
     
+    private static ReflectAccess.Backend getBackend(Class<?> type){
+    	ReflectAccess access = type.getAnnotation(ReflectAccess.class);
+    	
+    	if(null != access){
+    		return access.value();
+    	}
+    	
+    	return DEFAULT_BACKEND;
+    }
+    
+    private static ReflectAccess.Backend getDefaultBackend(){
+    	try {
+    		String backend = System.getProperty(ReflectAccess.BACKEND_PROPERTY);
+    		
+    		if(null != backend && backend.trim().length() > 0){
+    			return ReflectAccess.Backend.valueOf(backend.trim().toUpperCase());
+    		}
+        } catch (SecurityException e) {
+        	;
+        } catch (IllegalArgumentException e) {
+        	//invalid backend name, use the default.
+        }
+        return ReflectAccess.Backend.GENERATED;
+    }
+    
     private static Constructor<?> getDefaultConstructor(Class<?> type,boolean isPackageAccessible){
     	for(Constructor<?> c : type.getDeclaredConstructors()){
     		
@@ -793,13 +876,16 @@ public abstract class ReflectAccessor {
     	return null;
     }
     
-    private static Method[] getAccessibleMethods(Class<?> type){
+    static Method[] getAccessibleMethods(Class<?> type){
         ArrayList<Method> methods = new ArrayList<Method>();
         Class<?> nextClass = type;
         
         while (nextClass != null && nextClass != Object.class) {
             Method[] declaredMethods = nextClass.getDeclaredMethods();
             
+            //the order of the declared members is not specified, sorts them to generate the same accessor in any jvm.
+            Arrays.sort(declaredMethods, METHOD_ORDER);
+            
             for (int i = 0, n = declaredMethods.length; i < n; i++) {
                 Method method = declaredMethods[i];
 
@@ -816,7 +902,7 @@ public abstract class ReflectAccessor {
         return methods.toArray(new Method[methods.size()]);
     }
     
-    private static Field[] getAccessibleFields(Class<?> type){
+    static Field[] getAccessibleFields(Class<?> type){
         ArrayList<Field> fields = new ArrayList<Field>();
         Class<?> nextClass = type;
         
@@ -825,6 +911,8 @@ public abstract class ReflectAccessor {
         while (nextClass != null && nextClass != Object.class) {
             Field[] declaredFields = nextClass.getDeclaredFields();
             
+            Arrays.sort(declaredFields, FIELD_ORDER);
+            
             for (int i = 0, n = declaredFields.length; i < n; i++) {
                 Field field = declaredFields[i];
                 
@@ -895,14 +983,59 @@ public abstract class ReflectAccessor {
         return typeCode;
     }
     
-    private static String getAccessorClassNameFor(Class<?> clazz){
+    /**
+     * the name of the accessor class ends with the hash of the accessible members, 
+     * so that an accessor generated before the type was changed is never loaded.
+     */
+    static String getAccessorClassNameFor(Class<?> clazz,Method[] methods,Field[] fields){
     	String className = clazz.getName();
     	
     	if(className.startsWith("java.") || className.startsWith("javax")){
     		className = "bingo." + className;
     	}
     	
-    	return className + "_BingoReflectAccessor";
+    	int hash = 0;
+    	
+    	for(Method m : methods){
+    		hash = 31 * hash + m.getDeclaringClass().getName().hashCode();
+    		hash = 31 * hash + m.getName().hashCode();
+    		hash = 31 * hash + Type.getMethodDescriptor(m).hashCode();
+    		hash = 31 * hash + m.getModifiers();
+    	}
+    	
+    	for(Field f : fields){
+    		hash = 31 * hash + f.getDeclaringClass().getName().hashCode();
+    		hash = 31 * hash + f.getName().hashCode();
+    		hash = 31 * hash + Type.getDescriptor(f.getType()).hashCode();
+    		hash = 31 * hash + f.getModifiers();
+    	}
+    	
+    	return className + ACCESSOR_CLASS_SUFFIX + Integer.toHexString(hash);
+    }
+    
+    /**
+     * returns the md5 hex digest of the declaring class, name, descriptor and modifiers of the given members in order.
+     * 
+     * <p>
+     * unlike the hash in the accessor class name, the signature also identifies the order of the members, 
+     * which are the indexes of the generated switches.
+     */
+    static String getSignatureFor(Method[] methods,Field[] fields){
+    	StringBuilder signature = new StringBuilder();
+    	
+    	for(Method m : methods){
+    		signature.append(m.getDeclaringClass().getName()).append('.')
+    				 .append(m.getName()).append(Type.getMethodDescriptor(m)).append(':')
+    				 .append(m.getModifiers()).append(';');
+    	}
+    	
+    	for(Field f : fields){
+    		signature.append(f.getDeclaringClass().getName()).append('.')
+    				 .append(f.getName()).append(':').append(Type.getDescriptor(f.getType())).append(':')
+    				 .append(f.getModifiers()).append(';');
+    	}
+    	
+    	return Digests.md5Hex(signature.toString());
     }
     
     static final class ReflectLoader extends ClassLoader {
@@ -919,6 +1052,40 @@ public abstract class ReflectAccessor {
     		return super.loadClass(name, resolve);
     	}
 
+    	/**
+    	 * returns the accessor class of the given name generated from the members of the given signature,
+    	 * <code>null</code> if not found or generated from other members.
+    	 */
+    	Class<?> findAccessorClass(String name,String signature) {
+    		Class<?> accessorClass = loadClassOrNull(name);
+    		
+    		if(null == accessorClass){
+    			return null;
+    		}
+    		
+    		try {
+    			Field field = accessorClass.getDeclaredField(SIGNATURE_FIELD);
+    			field.setAccessible(true);
+    			
+    			return signature.equals(field.get(null)) ? accessorClass : null;
+            } catch (Exception e) {
+            	//generated before the signature field was written.
+            	return null;
+            }
+    	}
+    	
+    	boolean isLoadable(String name) {
+    		return null != loadClassOrNull(name);
+    	}
+    	
+    	private Class<?> loadClassOrNull(String name) {
+    		try {
+    			return loadClass(name);
+            } catch (ClassNotFoundException e) {
+            	return null;
+            }
+    	}
+    	
     	Class<?> defineClass (String name, byte[] bytes) throws ClassFormatError {
     		try {
     			Method method = ClassLoader.class.getDeclaredMethod("defineClass", 
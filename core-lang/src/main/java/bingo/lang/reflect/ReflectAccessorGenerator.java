@@ -0,0 +1,196 @@
+/*
+ * Copyright 2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package bingo.lang.reflect;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import bingo.lang.io.IO;
+import bingo.lang.logging.Log;
+import bingo.lang.logging.LogFactory;
+
+/**
+ * generates the {@link ReflectAccessor} classes at build time, so that they are loaded instead of generated at runtime.
+ *
+ * <p>
+ * usage : <code>java bingo.lang.reflect.ReflectAccessorGenerator &lt;classes directory&gt; [package ...]</code>
+ *
+ * <p>
+ * the compiled classes of the given packages (all if no package) under the directory are loaded from the classpath,
+ * an accessor class is written next to every class except the interfaces, annotations, anonymous classes 
+ * and the classes annotated with {@link ReflectAccess.Backend#REFLECTION}.
+ * 
+ * <p>
+ * run it in the <code>process-classes</code> phase of a maven build : 
+ * 
+ * <pre>
+ * &lt;plugin&gt;
+ *     &lt;groupId&gt;org.codehaus.mojo&lt;/groupId&gt;
+ *     &lt;artifactId&gt;exec-maven-plugin&lt;/artifactId&gt;
+ *     &lt;executions&gt;
+ *         &lt;execution&gt;
+ *             &lt;phase&gt;process-classes&lt;/phase&gt;
+ *             &lt;goals&gt;&lt;goal&gt;java&lt;/goal&gt;&lt;/goals&gt;
+ *             &lt;configuration&gt;
+ *                 &lt;mainClass&gt;bingo.lang.reflect.ReflectAccessorGenerator&lt;/mainClass&gt;
+ *                 &lt;classpathScope&gt;compile&lt;/classpathScope&gt;
+ *                 &lt;arguments&gt;
+ *                     &lt;argument&gt;${project.build.outputDirectory}&lt;/argument&gt;
+ *                     &lt;argument&gt;com.example.entity&lt;/argument&gt;
+ *                 &lt;/arguments&gt;
+ *             &lt;/configuration&gt;
+ *         &lt;/execution&gt;
+ *     &lt;/executions&gt;
+ * &lt;/plugin&gt;
+ * </pre>
+ * 
+ * <p>
+ * the name of an accessor class contains the hash of the accessible members of its class 
+ * and the accessor class holds the signature of the members it was generated from,
+ * an accessor generated before its class was changed is ignored and the accessor is generated at runtime.
+ */
+public final class ReflectAccessorGenerator {
+	
+	private static final Log log = LogFactory.get(ReflectAccessorGenerator.class);
+	
+	/**
+	 * @throws IllegalArgumentException if no classes directory is given.
+	 */
+	public static void main(String[] args) throws Exception {
+		if(args.length == 0){
+			throw new IllegalArgumentException("usage : java " + ReflectAccessorGenerator.class.getName() + " <classes directory> [package ...]");
+		}
+		
+		File     directory = new File(args[0]);
+		String[] packages  = new String[args.length - 1];
+		
+		System.arraycopy(args, 1, packages, 0, packages.length);
+		
+		List<String> generated = generate(directory, Thread.currentThread().getContextClassLoader(), packages);
+		
+		log.info("generated {} reflect accessor classes in '{}'",generated.size(),directory);
+	}
+	
+	/**
+	 * generates the accessor classes of the compiled classes under the directory and returns the names of the generated classes.
+	 */
+	public static List<String> generate(File directory,ClassLoader classLoader,String... packages) throws IOException {
+		List<String> classNames = new ArrayList<String>();
+		
+		collectClassNames(directory, "", classNames);
+		
+		List<String> generated = new ArrayList<String>();
+		
+		for(String className : classNames){
+			if(!isIncluded(className, packages)){
+				continue;
+			}
+			
+			Class<?> type;
+			try {
+	            type = Class.forName(className, false, classLoader);
+            } catch (Throwable e) {
+            	//the class or a class it depends on can not be loaded.
+            	continue;
+            }
+            
+            if(!isGeneratable(type)){
+            	continue;
+            }
+            
+            Method[] methods = ReflectAccessor.getAccessibleMethods(type);
+            Field[]  fields  = ReflectAccessor.getAccessibleFields(type);
+            
+            String accessorClassName = ReflectAccessor.getAccessorClassNameFor(type, methods, fields);
+            
+            if(!accessorClassName.startsWith(className)){
+            	continue;
+            }
+            
+            write(new File(directory, accessorClassName.replace('.', File.separatorChar) + ".class"),
+            	  ReflectAccessor.generate(type, accessorClassName, methods, fields));
+            
+            generated.add(accessorClassName);
+		}
+		
+		return generated;
+	}
+	
+	private static boolean isGeneratable(Class<?> type) {
+		if(type.isInterface() || type.isAnnotation() || type.isAnonymousClass() || type.isSynthetic() || type.isLocalClass()){
+			return false;
+		}
+		
+		ReflectAccess access = type.getAnnotation(ReflectAccess.class);
+		
+		return null == access || access.value() == ReflectAccess.Backend.GENERATED;
+	}
+	
+	private static boolean isIncluded(String className,String[] packages) {
+		if(className.contains(ReflectAccessor.ACCESSOR_CLASS_SUFFIX) || className.endsWith("package-info")){
+			return false;
+		}
+		
+		if(packages.length == 0){
+			return true;
+		}
+		
+		for(String p : packages){
+			if(className.startsWith(p + ".")){
+				return true;
+			}
+		}
+		
+		return false;
+	}
+	
+	private static void collectClassNames(File directory,String packageName,List<String> classNames) {
+		File[] files = directory.listFiles();
+		
+		if(null == files){
+			return;
+		}
+		
+		for(File file : files){
+			String name = file.getName();
+			
+			if(file.isDirectory()){
+				collectClassNames(file, packageName + name + ".", classNames);
+			}else if(name.endsWith(".class")){
+				classNames.add(packageName + name.substring(0, name.length() - 6));
+			}
+		}
+	}
+	
+	private static void write(File file,byte[] bytes) throws IOException {
+		OutputStream out = new FileOutputStream(file);
+		try{
+			out.write(bytes);
+		}finally{
+			IO.close(out);
+		}
+	}
+	
+	private ReflectAccessorGenerator(){
+		
+	}
+}
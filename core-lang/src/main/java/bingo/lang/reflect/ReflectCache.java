@@ -0,0 +1,167 @@
+/*
+ * Copyright 2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package bingo.lang.reflect;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * lock-free cache of the metadata created once per {@link Class}.
+ *
+ * <p>
+ * a lookup never blocks. the value of a class is created outside of the map, threads looking up the same class at the 
+ * same time may create a value each, the first value stored wins and is returned to all of them. a lookup of the class 
+ * being created, from the creating thread, creates another value too.
+ *
+ * <p>
+ * the classes are weakly referenced. the values of the classes loaded by another class loader than the one of this class
+ * (or its parents) are softly referenced, so that the cache does not prevent the class loader from being unloaded.
+ */
+public abstract class ReflectCache<V> {
+
+	private final ConcurrentMap<Object, Object> map   = new ConcurrentHashMap<Object, Object>();
+	private final ReferenceQueue<Class<?>>      queue = new ReferenceQueue<Class<?>>();
+
+	/**
+	 * creates the value of the given class, must not return <code>null</code>.
+	 * 
+	 * <p>
+	 * it may be called more than once for a class, the values not stored are discarded.
+	 */
+	protected abstract V create(Class<?> type);
+
+	@SuppressWarnings("unchecked")
+    public V get(Class<?> type) {
+		for(;;){
+			Object value = map.get(new LookupKey(type));
+
+			if(null == value){
+				expunge();
+
+				V created = create(type);
+
+				value = map.putIfAbsent(new WeakKey(type,queue), isCacheable(type) ? created : new SoftValue(created));
+
+				if(null == value){
+					return created;
+				}
+			}
+
+			if(value instanceof SoftValue){
+				Object created = ((SoftValue)value).get();
+
+				if(null != created){
+					return (V)created;
+				}
+
+				map.remove(new LookupKey(type), value);
+			}else{
+				return (V)value;
+			}
+		}
+	}
+
+	public void remove(Class<?> type) {
+		map.remove(new LookupKey(type));
+	}
+
+	private void expunge() {
+		Reference<?> key;
+		while(null != (key = queue.poll())){
+			map.remove(key);
+		}
+	}
+
+	private static boolean isCacheable(Class<?> type) {
+		ClassLoader loader = type.getClassLoader();
+
+		if(null == loader){
+			return true;
+		}
+
+		for(ClassLoader cl = ReflectCache.class.getClassLoader(); null != cl; cl = cl.getParent()){
+			if(cl == loader){
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	private static final class WeakKey extends WeakReference<Class<?>> {
+		private final int hash;
+
+		WeakKey(Class<?> type,ReferenceQueue<Class<?>> queue){
+			super(type,queue);
+			this.hash = System.identityHashCode(type);
+		}
+
+		@Override
+        public int hashCode() {
+	        return hash;
+        }
+
+		@Override
+        public boolean equals(Object obj) {
+			if(this == obj){
+				return true;
+			}
+
+			Class<?> type = get();
+
+			if(null == type){
+				return false;
+			}
+
+			if(obj instanceof LookupKey){
+				return type == ((LookupKey)obj).type;
+			}
+
+			return obj instanceof WeakKey && type == ((WeakKey)obj).get();
+        }
+	}
+
+	private static final class LookupKey {
+		private final Class<?> type;
+
+		LookupKey(Class<?> type){
+			this.type = type;
+		}
+
+		@Override
+        public int hashCode() {
+	        return System.identityHashCode(type);
+        }
+
+		@Override
+        public boolean equals(Object obj) {
+			if(obj instanceof WeakKey){
+				return ((WeakKey)obj).get() == type;
+			}
+			return obj instanceof LookupKey && ((LookupKey)obj).type == type;
+        }
+	}
+
+	private static final class SoftValue extends SoftReference<Object> {
+		SoftValue(Object value){
+			super(value);
+		}
+	}
+}
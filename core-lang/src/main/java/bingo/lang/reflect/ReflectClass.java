@@ -15,39 +15,42 @@
  */
 package bingo.lang.reflect;
 
+import java.lang.reflect.Array;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
-import java.util.WeakHashMap;
+import java.util.Map.Entry;
 
 import bingo.lang.Classes;
 import bingo.lang.Enumerables;
 import bingo.lang.Named;
 import bingo.lang.New;
 import bingo.lang.Predicate;
-import bingo.lang.Predicates;
 import bingo.lang.Reflects;
 import bingo.lang.exceptions.ReflectException;
 
 public class ReflectClass<T> implements Named {
 	
-	private static final Map<Class<?>, ReflectClass<?>> cache = 
-		java.util.Collections.synchronizedMap(new WeakHashMap<Class<?>, ReflectClass<?>>());
+	private static final ReflectMethod[] EMPTY_METHODS = new ReflectMethod[]{};
+	
+	private static final ReflectCache<ReflectClass<?>> cache = new ReflectCache<ReflectClass<?>>() {
+		@Override
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+        protected ReflectClass<?> create(Class<?> type) {
+	        return new ReflectClass(type);
+        }
+	};
 	
 	@SuppressWarnings("unchecked")
 	public static <T> ReflectClass<T> get(Class<T> type) {
-		ReflectClass<?> clazz = cache.get(type);
-		
-		if(null == clazz){
-			clazz = new ReflectClass<T>(type);
-			
-			cache.put(type, clazz);
-		}
-		
-		return (ReflectClass<T>)clazz;
+		return (ReflectClass<T>)cache.get(type);
 	}
 	
 	private final Class<T>	         javaClass;
@@ -65,6 +68,12 @@ public class ReflectClass<T> implements Named {
 	private ReflectField[]		 	 declaredFields;
 	private ReflectMethod[]		 	 declaredMethods;	
 	
+	//name indexes of the fields and methods, the first member of a name wins as the linear search did.
+	private Map<String, ReflectField>    fieldsByName;
+	private Map<String, ReflectField>    fieldsByLowerCaseName;
+	private Map<String, ReflectMethod[]> methodsByName;
+	private Map<Method, ReflectMethod>   methodsByJavaMethod;
+	
 	private ReflectConstructor<T>	 defaultConstructor;	
 	private boolean				     defaultConstructorInner = false;
 	private ReflectInstantiator<T>   instantiator	         = null;
@@ -103,7 +112,7 @@ public class ReflectClass<T> implements Named {
 		if(defaultConstructorInner){
 			return defaultConstructor.newInstance(Reflects.newInstance(javaClass.getEnclosingClass()));
 		}else{
-			if(accessor.canNewInstance()){
+			if(null != accessor && accessor.canNewInstance()){
 				return (T)accessor.newInstance();	
 			}else{
 				return defaultConstructor.newInstance((Object[])null);
@@ -124,19 +133,23 @@ public class ReflectClass<T> implements Named {
 	
 	@SuppressWarnings("unchecked")
 	public T[] newArray(int length){
-		return (T[])accessor.newArray(length);
+		return (T[])(null == accessor ? Array.newInstance(javaClass, length) : accessor.newArray(length));
 	}
 	
 	public int getArrayLength(Object array){
-		return accessor.getArrayLength(array);
+		return null == accessor ? Array.getLength(array) : accessor.getArrayLength(array);
 	}	
 	
 	public Object getArrayItem(Object array,int index){
-		return accessor.getArrayItem(array, index);
+		return null == accessor ? Array.get(array, index) : accessor.getArrayItem(array, index);
 	}
 	
 	public void setArrayItem(Object array,int index,Object value){
-		accessor.setArrayItem(array, index, value);
+		if(null == accessor){
+			Array.set(array, index, value);
+		}else{
+			accessor.setArrayItem(array, index, value);
+		}
 	}
 	
 	public boolean isSimple(){
@@ -221,19 +234,15 @@ public class ReflectClass<T> implements Named {
 	}
 	
 	public ReflectField getField(final String name){
-		return Enumerables.firstOrNull(fields, new Predicate<ReflectField>() {
-			public boolean apply(ReflectField object) {
-	            return object.getName().equals(name);
-            }
-		});
+		return fieldsByName.get(name);
 	}
 	
 	public ReflectField getField(final String name,final Class<?> fieldType){
-		return Enumerables.firstOrNull(fields,Predicates.<ReflectField>nameEquals(name));
+		return fieldsByName.get(name);
 	}
 	
 	public ReflectField getFieldIgnorecase(final String name){
-		return Enumerables.firstOrNull(fields,Predicates.<ReflectField>nameEqualsIgnoreCase(name));
+		return null == name ? null : fieldsByLowerCaseName.get(name.toLowerCase(Locale.ENGLISH));
 	}
 	
 	public ReflectMethod[] getMethods(){
@@ -245,42 +254,35 @@ public class ReflectClass<T> implements Named {
 	}
 	
 	public ReflectMethod getMethod(final String name){
-		return Enumerables.firstOrNull(methods, Predicates.<ReflectMethod>nameEquals(name));
+		ReflectMethod[] overloads = methodsByName.get(name);
+		
+		return null == overloads ? null : overloads[0];
 	}
 	
 	public ReflectMethod getMethod(final Method m){
-		for(ReflectMethod rm : methods){
-			if(rm.getJavaMethod().equals(m)){
-				return rm;
-			}
-		}
-		return null;
+		return methodsByJavaMethod.get(m);
 	}
 	
 	public ReflectMethod getMethod(final String name,final Class<?>... argumentTypes){
-		return Enumerables.firstOrNull(methods, new Predicate<ReflectMethod>() {
-			public boolean apply(ReflectMethod object) {
-	            if(object.getName().equals(name)){
-	            	Method javaMethod = object.getJavaMethod();
-	            	
-	            	if(javaMethod.getParameterTypes().length == argumentTypes.length){
-                        boolean matched = true;
-                        
-                        for(int i=0;i<javaMethod.getParameterTypes().length;i++){
-                            if(!javaMethod.getParameterTypes()[i].equals(argumentTypes[i])){
-                                matched = false;
-                                break;
-                            }
-                        }
-                        
-                        if(matched){
-                            return true;    
-                        }
-	            	}
-	            }
-	            return false;
-            }
-		});
+		for(ReflectMethod m : findMethods(name)){
+			ReflectParameter[] parameters = m.getParameters();
+			
+			if(parameters.length == argumentTypes.length){
+                boolean matched = true;
+                
+                for(int i=0;i<parameters.length;i++){
+                    if(!parameters[i].type.equals(argumentTypes[i])){
+                        matched = false;
+                        break;
+                    }
+                }
+                
+                if(matched){
+                    return m;    
+                }
+			}
+		}
+		return null;
 	}
 	
 	public ReflectMethod getMethod(String name,Class<?> returnType,Class<?>... argumentTypes){
@@ -290,13 +292,21 @@ public class ReflectClass<T> implements Named {
 	}	
 	
 	public ReflectMethod[] getMethods(final String name) {
-		return Enumerables.where(methods, new Predicate<ReflectMethod>() {
-			public boolean apply(ReflectMethod object) {
-	            return object.getName().equals(name);
-            }
-		}).toArray(new ReflectMethod[]{});
+		return findMethods(name).clone();
+	}
+	
+	/**
+	 * returns the cached methods of the given name, must not be modified.
+	 */
+	ReflectMethod[] findMethods(String name) {
+		ReflectMethod[] overloads = methodsByName.get(name);
+		
+		return null == overloads ? EMPTY_METHODS : overloads;
 	}
 	
+	/**
+	 * returns <code>null</code> if the members are accessed through core reflection, see {@link ReflectAccess}.
+	 */
 	ReflectAccessor getAccessor(){
 		return accessor;
 	}
@@ -356,6 +366,21 @@ public class ReflectClass<T> implements Named {
 		
 		this.fields = fieldList.toArray(new ReflectField[fieldList.size()]);
 		this.declaredFields = getDeclaredMembers(fieldList).toArray(new ReflectField[]{});
+		
+		this.fieldsByName          = new HashMap<String, ReflectField>(fields.length * 2);
+		this.fieldsByLowerCaseName = new HashMap<String, ReflectField>(fields.length * 2);
+		
+		for(ReflectField f : fields){
+			String lowerCaseName = f.getName().toLowerCase(Locale.ENGLISH);
+			
+			if(!fieldsByName.containsKey(f.getName())){
+				fieldsByName.put(f.getName(), f);
+			}
+			
+			if(!fieldsByLowerCaseName.containsKey(lowerCaseName)){
+				fieldsByLowerCaseName.put(lowerCaseName, f);
+			}
+		}
 	}
 	
 	private void createMethods(){
@@ -371,6 +396,29 @@ public class ReflectClass<T> implements Named {
 		
 		this.methods = methodList.toArray(new ReflectMethod[methodList.size()]);
 		this.declaredMethods = getDeclaredMembers(methodList).toArray(new ReflectMethod[]{});
+		
+		Map<String, List<ReflectMethod>> overloads = new LinkedHashMap<String, List<ReflectMethod>>();
+		
+		this.methodsByJavaMethod = new HashMap<Method, ReflectMethod>(methods.length * 2);
+		
+		for(ReflectMethod m : methods){
+			List<ReflectMethod> list = overloads.get(m.getName());
+			
+			if(null == list){
+				overloads.put(m.getName(), list = new ArrayList<ReflectMethod>(1));
+			}
+			list.add(m);
+			
+			if(!methodsByJavaMethod.containsKey(m.getJavaMethod())){
+				methodsByJavaMethod.put(m.getJavaMethod(), m);
+			}
+		}
+		
+		this.methodsByName = new HashMap<String, ReflectMethod[]>(overloads.size() * 2);
+		
+		for(Entry<String, List<ReflectMethod>> entry : overloads.entrySet()){
+			methodsByName.put(entry.getKey(), entry.getValue().toArray(new ReflectMethod[entry.getValue().size()]));
+		}
 	}
 	
 	@Override
@@ -16,8 +16,6 @@
 package bingo.lang.reflect;
 
 import java.lang.reflect.Field;
-import java.util.Map;
-import java.util.WeakHashMap;
 
 import bingo.lang.Assert;
 import bingo.lang.Strings;
@@ -26,21 +24,18 @@ public class ReflectEnum {
 	
 	private static final String VALUE_FIELD_NAME = "value";
 
-	private static final Map<Class<?>, ReflectEnum> cache = 
-		java.util.Collections.synchronizedMap(new WeakHashMap<Class<?>, ReflectEnum>());
+	private static final ReflectCache<ReflectEnum> cache = new ReflectCache<ReflectEnum>() {
+		@Override
+        protected ReflectEnum create(Class<?> type) {
+	        return new ReflectEnum(type);
+        }
+	};
 	
 	public static ReflectEnum get(Class<?> enumType){
 		Assert.notNull(enumType,"enumType must not be null");
 		Assert.isValidState(enumType.isEnum(),Strings.format("{0} is not an enum type", enumType.getName()));
 		
-		ReflectEnum reflectEnum = cache.get(enumType);
-		
-		if(null == reflectEnum){
-			reflectEnum = new ReflectEnum(enumType);
-			cache.put(enumType, reflectEnum);
-		}
-		
-		return reflectEnum;
+		return cache.get(enumType);
 	}
 	
 	private final ReflectClass<?> reflectClass;
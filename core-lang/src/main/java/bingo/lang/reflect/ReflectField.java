@@ -50,9 +50,9 @@ public class ReflectField extends ReflectMember {
 		this.getter    = findGetter();
 		this.accessor  = reflectClass.getAccessor();
 		
-		this.fieldIndex  = accessor.getFieldIndex(javaField);
-		this.setterIndex = null == setter ? -1 : accessor.getMethodIndex(setter.getJavaMethod());
-		this.getterIndex = null == getter ? -1 : accessor.getMethodIndex(getter.getJavaMethod());
+		this.fieldIndex  = null == accessor ? -1 : accessor.getFieldIndex(javaField);
+		this.setterIndex = null == accessor || null == setter ? -1 : accessor.getMethodIndex(setter.getJavaMethod());
+		this.getterIndex = null == accessor || null == getter ? -1 : accessor.getMethodIndex(getter.getJavaMethod());
 		
 		this.initialize();
 	}
@@ -207,15 +207,12 @@ public class ReflectField extends ReflectMember {
 	}
 	
 	private ReflectMethod findSetter(Class<?> fieldType,String nameToFind){
-		//iterate all public methods.
-		for(ReflectMethod rm : reflectClass.getMethods()){
+		//iterate the public methods of the name.
+		for(ReflectMethod rm : reflectClass.findMethods(nameToFind)){
 			Method m = rm.getJavaMethod();
 			if(m.getParameterTypes().length == 1 && 
 					fieldType.isAssignableFrom(Primitives.wrap(m.getParameterTypes()[0]))){
-				
-				if(m.getName().equals(nameToFind)){
-					return rm;
-				}
+				return rm;
 			}
 		}
 		return null;		
@@ -250,14 +247,11 @@ public class ReflectField extends ReflectMember {
 	}
 	
 	private ReflectMethod findGetter(Class<?> fieldType,String nameToFind){
-		for(ReflectMethod rm : reflectClass.getMethods()){
+		for(ReflectMethod rm : reflectClass.findMethods(nameToFind)){
 			Method m = rm.getJavaMethod();
 			if(m.getParameterTypes().length == 0 && 
 					Primitives.wrap(m.getReturnType()).isAssignableFrom(fieldType)){
-				
-				if(m.getName().equals(nameToFind)){
-					return rm;
-				}
+				return rm;
 			}
 		}
 		return null;		
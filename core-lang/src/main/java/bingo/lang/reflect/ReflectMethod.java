@@ -32,7 +32,7 @@ public class ReflectMethod extends ReflectMember{
 		super(reflectClass,javaMethod);
 		
 		this.javaMethod = javaMethod;
-		this.index      = reflectClass.getAccessor().getMethodIndex(javaMethod);
+		this.index      = null == reflectClass.getAccessor() ? -1 : reflectClass.getAccessor().getMethodIndex(javaMethod);
 		
 		this.initialize();
 	}
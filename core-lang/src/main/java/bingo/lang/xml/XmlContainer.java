@@ -4,9 +4,14 @@ import java.io.ByteArrayOutputStream;
 import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import javax.xml.transform.OutputKeys;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerFactory;
@@ -27,6 +32,7 @@ import bingo.lang.Enumerables;
 import bingo.lang.Func;
 import bingo.lang.Func1;
 import bingo.lang.Out;
+import bingo.lang.Strings;
 import bingo.lang.enumerable.IterableEnumerable;
 import bingo.lang.iterable.ImmutableIteratorBase;
 import bingo.lang.xml.XmlUtils.DepthFirstIterator;
@@ -40,7 +46,13 @@ abstract class XmlContainer extends XmlNode {
 		}
 	};
 
+	//the child nodes or attributes are scanned without an index below this size.
+	static final int MIN_INDEXED_SIZE = 8;
+
 	private List<XmlNode> childNodes = new ArrayList<XmlNode>();
+	
+	//the first child element of each name, built on demand and dropped on mutation.
+	private volatile Map<String, XmlElement> childElementIndex;
 
 	protected XmlContainer() {
 		
@@ -68,7 +80,26 @@ abstract class XmlContainer extends XmlNode {
 	}
 
 	public XmlElement childElement(String name) {
-		return childElements().firstOrNull(Predicates.<XmlElement> xnameEquals(name));
+		if (childNodes.size() < MIN_INDEXED_SIZE) {
+			for (XmlNode node : childNodes) {
+				if (node instanceof XmlElement && Strings.equals(((XmlElement) node).name(), name)) {
+					return (XmlElement) node;
+				}
+			}
+			return null;
+		}
+		
+		Map<String, XmlElement> index = childElementIndex;
+		if (null == index) {
+			index = new HashMap<String, XmlElement>();
+			for (XmlNode node : childNodes) {
+				if (node instanceof XmlElement && !index.containsKey(((XmlElement) node).name())) {
+					index.put(((XmlElement) node).name(), (XmlElement) node);
+				}
+			}
+			childElementIndex = index;
+		}
+		return index.get(name);
 	}
 	
 	public XmlElement fistChildElement(){
@@ -96,10 +127,12 @@ abstract class XmlContainer extends XmlNode {
 	}
 
 	public boolean remove(XmlNode xNode) {
+		childElementIndex = null;
 		return childNodes.remove(xNode);
 	}
 	
 	public void removeChildNodes(){
+		childElementIndex = null;
 		childNodes.clear();
 	}
 
@@ -112,6 +145,7 @@ abstract class XmlContainer extends XmlNode {
 	public void add(Object content) {
 		XmlNode node = toNode(content);
 		childNodes.add(node);
+		childElementIndex = null;
 		if (this instanceof XmlElement) {
 			node.setParent((XmlElement) this);
 		}
@@ -127,6 +161,7 @@ abstract class XmlContainer extends XmlNode {
 	public void addFirst(Object content) {
 		XmlNode node = toNode(content);
 		childNodes.add(0, node);
+		childElementIndex = null;
 		if (this instanceof XmlElement) {
 			node.setParent((XmlElement) this);
 		}
@@ -180,6 +215,87 @@ abstract class XmlContainer extends XmlNode {
 		return rt;
 	}
 
+	/**
+	 * reads the element at the current start element event of the reader until the matching end element event,
+	 * the reader is left at the end element event.
+	 */
+	protected static XmlElement parse(XmlDocument document, XMLStreamReader reader) throws XMLStreamException {
+		XmlElement    root    = null;
+		XmlElement    current = null;
+		StringBuilder text    = new StringBuilder();
+		
+		for (int event = reader.getEventType();; event = reader.next()) {
+			switch (event) {
+				case XMLStreamConstants.START_ELEMENT:
+					XmlElement element = parseStartElement(document, reader);
+					if (null == current) {
+						root = element;
+					} else {
+						addText(current, text);
+						current.add(element);
+					}
+					current = element;
+					break;
+				case XMLStreamConstants.END_ELEMENT:
+					addText(current, text);
+					if (current == root) {
+						return root;
+					}
+					current = current.parent();
+					break;
+				case XMLStreamConstants.CHARACTERS:
+				case XMLStreamConstants.CDATA:
+				case XMLStreamConstants.SPACE:
+					text.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+					break;
+				case XMLStreamConstants.COMMENT:
+					addText(current, text);
+					current.add(new XmlComment(reader.getText()));
+					break;
+				case XMLStreamConstants.PROCESSING_INSTRUCTION:
+					addText(current, text);
+					current.add(parseProcessingInstruction(reader));
+					break;
+			}
+		}
+	}
+	
+	protected static XmlProcessingInstruction parseProcessingInstruction(XMLStreamReader reader) {
+		String data = reader.getPIData();
+		return new XmlProcessingInstruction(reader.getPITarget(), null == data ? "" : data);
+	}
+	
+	private static XmlElement parseStartElement(XmlDocument document, XMLStreamReader reader) {
+		XmlElement rt = new XmlElement(prefix(reader.getPrefix()), reader.getLocalName());
+		
+		rt.setDocument(document);
+		
+		//namespace declarations are attributes in the dom
+		for (int i = 0; i < reader.getNamespaceCount(); i++) {
+			String prefix = prefix(reader.getNamespacePrefix(i));
+			String uri    = reader.getNamespaceURI(i);
+			
+			rt.add(null == prefix ? new XmlAttribute("xmlns", null == uri ? "" : uri) : new XmlAttribute("xmlns", prefix, null == uri ? "" : uri));
+		}
+		
+		for (int i = 0; i < reader.getAttributeCount(); i++) {
+			rt.add(new XmlAttribute(prefix(reader.getAttributePrefix(i)), reader.getAttributeLocalName(i), reader.getAttributeValue(i)));
+		}
+		
+		return rt;
+	}
+	
+	private static void addText(XmlElement element, StringBuilder text) {
+		if (text.length() > 0) {
+			element.add(new XmlText(text.toString()));
+			text.setLength(0);
+		}
+	}
+	
+	private static String prefix(String prefix) {
+		return null == prefix || prefix.length() == 0 ? null : prefix;
+	}
+
 	protected static XmlNode parseNode(XmlDocument document, Node domNode) {
 		if (domNode instanceof Element) {
 			return XmlElement.parse(document,(Element) domNode);
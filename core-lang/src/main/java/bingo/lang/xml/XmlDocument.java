@@ -9,6 +9,9 @@ import java.nio.charset.UnsupportedCharsetException;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import org.w3c.dom.Document;
 import org.w3c.dom.Node;
@@ -17,6 +20,7 @@ import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 
 import bingo.lang.Charsets;
+import bingo.lang.Strings;
 import bingo.lang.exceptions.UncheckedIOException;
 import bingo.lang.io.IO;
 import bingo.lang.resource.Resource;
@@ -44,7 +48,34 @@ public class XmlDocument extends XmlContainer {
 		return parse(reader,null);
 	}
 	
+	/**
+	 * parses the xml document from the stax reader events without building a dom document, 
+	 * falls back to the dom parser if no stax reader found.
+	 */
 	public static XmlDocument parse(Reader reader,String location) throws UncheckedIOException {
+		if(!XmlFactory.isStaxReaderFound()){
+			return new XmlDocument(parseDom(reader),location);
+		}
+		
+		XMLStreamReader streamReader = null;
+		try {
+			streamReader = XmlFactory.createStreamReader(reader);
+			
+			return new XmlDocument(streamReader,location);
+		} catch (XMLStreamException e) {
+			throw new UncheckedIOException(e.getMessage(),e);
+		} finally {
+			if(null != streamReader){
+				try {
+	                streamReader.close();
+                } catch (XMLStreamException e) {
+                	//do nothing
+                }
+			}
+		}
+	}
+	
+	static Document parseDom(Reader reader) throws UncheckedIOException {
 		DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
 		factory.setNamespaceAware(true);
 		try {
@@ -56,9 +87,7 @@ public class XmlDocument extends XmlContainer {
 				}
 			});
 			
-			Document document = builder.parse(new InputSource(reader));
-			
-			return new XmlDocument(document,location);
+			return builder.parse(new InputSource(reader));
 		} catch (Exception e) {
 			throw new UncheckedIOException(e.getMessage(),e);
 		}
@@ -106,6 +135,28 @@ public class XmlDocument extends XmlContainer {
 		this.location    = location;
 	}
 
+	protected XmlDocument(XMLStreamReader reader,String location) throws XMLStreamException {
+		this.location = location;
+		
+		while(reader.hasNext()){
+			switch (reader.next()) {
+				case XMLStreamConstants.START_ELEMENT:
+					this.documentElement = parse(this,reader);
+					add(documentElement);
+					break;
+				case XMLStreamConstants.COMMENT:
+					add(new XmlComment(reader.getText()));
+					break;
+				case XMLStreamConstants.PROCESSING_INSTRUCTION:
+					add(parseProcessingInstruction(reader));
+					break;
+				case XMLStreamConstants.DTD:
+					add(parseDocumentType(reader.getText()));
+					break;
+			}
+		}
+	}
+
 	protected XmlDocument(XmlElement documentElement) {
 		this(documentElement,null);
 	}
@@ -117,6 +168,29 @@ public class XmlDocument extends XmlContainer {
 		this.location = location;
 	}
 	
+	//the name and the internal subset of the declaration '<!DOCTYPE name ... [ internal subset ]>'
+	private static XmlDocumentType parseDocumentType(String declaration) {
+		int start = declaration.indexOf("DOCTYPE") + 7;
+		while(start < declaration.length() && Character.isWhitespace(declaration.charAt(start))){
+			start++;
+		}
+		
+		int end = start;
+		while(end < declaration.length() && !Character.isWhitespace(declaration.charAt(end)) && declaration.charAt(end) != '[' && declaration.charAt(end) != '>'){
+			end++;
+		}
+		
+		int subsetStart = declaration.indexOf('[');
+		int subsetEnd   = declaration.lastIndexOf(']');
+		
+		String internalSubset = null;
+		if(subsetStart >= 0 && subsetEnd > subsetStart){
+			internalSubset = Strings.trimStart(declaration.substring(subsetStart + 1,subsetEnd).replace("\r\n", "\n"),'\n');
+		}
+		
+		return new XmlDocumentType(declaration.substring(start,end), internalSubset);
+	}
+	
 	public XmlElement rootElement() {
 		return documentElement;
 	}
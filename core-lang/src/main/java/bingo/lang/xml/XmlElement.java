@@ -2,7 +2,9 @@ package bingo.lang.xml;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import bingo.lang.Converts;
 import bingo.lang.Enumerable;
@@ -17,6 +19,9 @@ public class XmlElement extends XmlContainer implements XmlNamed {
 	private final String qname;
 	private final List<XmlAttribute> attributes = new ArrayList<XmlAttribute>();
 	
+	//the first attribute of each name, built on demand and dropped on mutation.
+	private volatile Map<String, XmlAttribute> attributeIndex;
+	
 	public XmlElement(String name, Object... content) {
 		this(null,name,content);
 	}	
@@ -120,7 +125,26 @@ public class XmlElement extends XmlContainer implements XmlNamed {
 	}
 
 	public XmlAttribute attribute(String name) {
-		return attributes().firstOrNull(Predicates.<XmlAttribute> xnameEquals(name));
+		if (attributes.size() < MIN_INDEXED_SIZE) {
+			for (XmlAttribute attr : attributes) {
+				if (Strings.equals(attr.name(), name)) {
+					return attr;
+				}
+			}
+			return null;
+		}
+		
+		Map<String, XmlAttribute> index = attributeIndex;
+		if (null == index) {
+			index = new HashMap<String, XmlAttribute>();
+			for (XmlAttribute attr : attributes) {
+				if (!index.containsKey(attr.name())) {
+					index.put(attr.name(), attr);
+				}
+			}
+			attributeIndex = index;
+		}
+		return index.get(name);
 	}
 	
 	public XmlAttribute attributeWithPrefix(String name) {
@@ -277,7 +301,7 @@ public class XmlElement extends XmlContainer implements XmlNamed {
 	}
 	
 	public XmlAttribute requiredAttribute(String name) throws XmlValidationException {
-		XmlAttribute attr = attributes().firstOrNull(Predicates.<XmlAttribute> xnameEquals(name));
+		XmlAttribute attr = attribute(name);
 		
 		if(null == attr){
 			throw new XmlValidationException("attribute '{0}' of element '{1}' is required in xml : {2}",name,name(),documentLocation());
@@ -328,6 +352,7 @@ public class XmlElement extends XmlContainer implements XmlNamed {
 	public void add(Object content) {
 		if (content instanceof XmlAttribute) {
 			attributes.add((XmlAttribute) content);
+			attributeIndex = null;
 		} else {
 			super.add(content);
 		}
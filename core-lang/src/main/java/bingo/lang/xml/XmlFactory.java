@@ -15,11 +15,18 @@
  */
 package bingo.lang.xml;
 
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
 import java.io.Reader;
 import java.io.Writer;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLResolver;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
 import bingo.lang.Classes;
 import bingo.lang.Reflects;
 import bingo.lang.logging.Log;
@@ -47,10 +54,28 @@ public class XmlFactory {
 		return FOUND_STAX_WRITER ? createStaxWriter(out) : createBaseWriter(out);
 	}
 	
+	/**
+	 * creates a {@link XmlWriter} writing the xml encoded as UTF-8 to the given stream.
+	 */
+	public static XmlWriter createWriter(OutputStream out) {
+		return new XmlWriterUtf8Impl(out);
+	}
+	
 	public static XmlReader createReader(Reader in) {
 		return FOUND_PULL_PARSER ? createPullReader(in) : ( FOUND_STAX_READER ? createStaxReader(in) : createDomReader(in));
 	}
 	
+	static boolean isStaxReaderFound(){
+		return FOUND_STAX_READER;
+	}
+	
+	/**
+	 * creates a namespace aware stax cursor reader, the external entities and dtds are not loaded.
+	 */
+	static XMLStreamReader createStreamReader(Reader in) throws XMLStreamException {
+		return StaxInputFactory.INSTANCE.createXMLStreamReader(in);
+	}
+	
 	static XmlWriter createBaseWriter(Writer out){
 		return new XmlWriterBaseImpl(out);
 	}
@@ -133,4 +158,20 @@ public class XmlFactory {
 			}
 		}
 	}
+	
+	//initialized on first use, so that XmlFactory can be loaded without stax.
+	private static final class StaxInputFactory {
+		static final XMLInputFactory INSTANCE = XMLInputFactory.newInstance();
+		
+		static {
+			INSTANCE.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+			INSTANCE.setProperty(XMLInputFactory.IS_REPLACING_ENTITY_REFERENCES, true);
+			INSTANCE.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+			INSTANCE.setXMLResolver(new XMLResolver() {
+				public Object resolveEntity(String publicID, String systemID, String baseURI, String namespace) throws XMLStreamException {
+					return new ByteArrayInputStream(new byte[0]);
+				}
+			});
+		}
+	}
 }
\ No newline at end of file
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package bingo.lang.xml;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import bingo.lang.Strings;
+
+/**
+ * compiled simple path like <code>a/b/@c</code>, immutable and reusable across documents.
+ * 
+ * <p>
+ * a path is a list of child element names separated by '/', the last step may be an attribute name prefixed with '@'.
+ * the steps are resolved from a {@link XmlContainer} by {@link XmlContainer#childElement(String)}, 
+ * so that each step but the last selects the first child element of the name. 
+ */
+public final class XmlPath {
+	
+	public static XmlPath compile(String path) throws XmlException {
+		if(Strings.isEmpty(path)){
+			throw new XmlException("xml path must not be empty");
+		}
+		
+		String[] steps     = Strings.split(path, "/", true, false);
+		String   attribute = null;
+		
+		String last = steps[steps.length - 1];
+		if(last.startsWith("@")){
+			attribute = last.substring(1);
+			
+			String[] elementSteps = new String[steps.length - 1];
+			System.arraycopy(steps, 0, elementSteps, 0, elementSteps.length);
+			steps = elementSteps;
+		}
+		
+		for(String step : steps){
+			if(step.length() == 0 || step.startsWith("@")){
+				throw new XmlException("invalid step '{0}' in xml path '{1}'",step,path);
+			}
+		}
+		
+		if(null != attribute && attribute.length() == 0){
+			throw new XmlException("invalid attribute in xml path '{0}'",path);
+		}
+		
+		return new XmlPath(path, steps, attribute);
+	}
+	
+	private final String   path;
+	private final String[] steps;
+	private final String   attribute;
+	
+	private XmlPath(String path,String[] steps,String attribute){
+		this.path      = path;
+		this.steps     = steps;
+		this.attribute = attribute;
+	}
+	
+	/**
+	 * returns the first element selected by the element steps of this path, or <code>null</code> if not found.
+	 * 
+	 * <p>
+	 * a path without element steps selects the given container itself, <code>null</code> if it is not an element.
+	 */
+	public XmlElement element(XmlContainer from) {
+		XmlContainer container = from;
+		
+		for(int i=0;i<steps.length && null != container;i++){
+			container = container.childElement(steps[i]);
+		}
+		
+		return container instanceof XmlElement ? (XmlElement)container : null;
+	}
+	
+	/**
+	 * returns all the elements selected by the last element step of this path.
+	 */
+	public List<XmlElement> elements(XmlContainer from) {
+		List<XmlElement> elements = new ArrayList<XmlElement>();
+		
+		if(steps.length == 0){
+			if(from instanceof XmlElement){
+				elements.add((XmlElement)from);
+			}
+			return elements;
+		}
+		
+		XmlContainer container = from;
+		for(int i=0;i<steps.length - 1 && null != container;i++){
+			container = container.childElement(steps[i]);
+		}
+		
+		if(null != container){
+			for(XmlElement e : container.childElements(steps[steps.length - 1])){
+				elements.add(e);
+			}
+		}
+		
+		return elements;
+	}
+	
+	/**
+	 * returns the attribute selected by this path, or <code>null</code> if not found or this path has no attribute step.
+	 */
+	public XmlAttribute attribute(XmlContainer from) {
+		if(null == attribute){
+			return null;
+		}
+		
+		XmlElement e = element(from);
+		
+		return null == e ? null : e.attribute(attribute);
+	}
+	
+	/**
+	 * returns the attribute value or the element text selected by this path, or <code>null</code> if not found.
+	 */
+	public String value(XmlContainer from) {
+		if(null != attribute){
+			XmlAttribute attr = attribute(from);
+			return null == attr ? null : attr.value();
+		}
+		
+		XmlElement e = element(from);
+		
+		return null == e ? null : e.text();
+	}
+	
+	@Override
+    public String toString() {
+	    return path;
+    }
+}
@@ -40,7 +40,7 @@ final class XmlReaderDomImpl extends XmlReaderBase implements XmlReader {
     private Integer event = null;
     
     public XmlReaderDomImpl(Reader in){
-    	this.document = XmlDocument.parse(in).domDocument();
+    	this.document = XmlDocument.parseDom(in);
     }
     
 	public boolean isEndElement() {
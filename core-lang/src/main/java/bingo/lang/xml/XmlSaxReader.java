@@ -0,0 +1,194 @@
+/*
+ * Copyright 2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package bingo.lang.xml;
+
+import java.io.IOException;
+
+import org.xml.sax.ContentHandler;
+import org.xml.sax.DTDHandler;
+import org.xml.sax.EntityResolver;
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXNotRecognizedException;
+import org.xml.sax.SAXNotSupportedException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.AttributesImpl;
+import org.xml.sax.helpers.NamespaceSupport;
+
+/**
+ * a {@link XMLReader} emitting the sax events of a parsed {@link XmlDocument} tree, the input source is ignored.
+ *
+ * <p>
+ * used to validate a document without serializing and parsing it again.
+ */
+final class XmlSaxReader implements XMLReader {
+
+	private static final String NAMESPACES_FEATURE         = "http://xml.org/sax/features/namespaces";
+	private static final String NAMESPACE_PREFIXES_FEATURE = "http://xml.org/sax/features/namespace-prefixes";
+	private static final String XMLNS                      = "xmlns";
+
+	private final XmlDocument doc;
+
+	private ContentHandler contentHandler;
+	private ErrorHandler   errorHandler;
+	private DTDHandler     dtdHandler;
+	private EntityResolver entityResolver;
+
+	XmlSaxReader(XmlDocument doc){
+		this.doc = doc;
+	}
+
+	public boolean getFeature(String name) throws SAXNotRecognizedException, SAXNotSupportedException {
+		if(NAMESPACES_FEATURE.equals(name)){
+			return true;
+		}
+		if(NAMESPACE_PREFIXES_FEATURE.equals(name)){
+			return false;
+		}
+	    throw new SAXNotRecognizedException(name);
+    }
+
+	public void setFeature(String name, boolean value) throws SAXNotRecognizedException, SAXNotSupportedException {
+		if(getFeature(name) != value){
+			throw new SAXNotSupportedException(name);
+		}
+    }
+
+	public Object getProperty(String name) throws SAXNotRecognizedException, SAXNotSupportedException {
+	    throw new SAXNotRecognizedException(name);
+    }
+
+	public void setProperty(String name, Object value) throws SAXNotRecognizedException, SAXNotSupportedException {
+		throw new SAXNotRecognizedException(name);
+    }
+
+	public void setEntityResolver(EntityResolver resolver) {
+		this.entityResolver = resolver;
+    }
+
+	public EntityResolver getEntityResolver() {
+	    return entityResolver;
+    }
+
+	public void setDTDHandler(DTDHandler handler) {
+		this.dtdHandler = handler;
+    }
+
+	public DTDHandler getDTDHandler() {
+	    return dtdHandler;
+    }
+
+	public void setContentHandler(ContentHandler handler) {
+		this.contentHandler = handler;
+    }
+
+	public ContentHandler getContentHandler() {
+	    return contentHandler;
+    }
+
+	public void setErrorHandler(ErrorHandler handler) {
+		this.errorHandler = handler;
+    }
+
+	public ErrorHandler getErrorHandler() {
+	    return errorHandler;
+    }
+
+	public void parse(String systemId) throws IOException, SAXException {
+		parse((InputSource)null);
+    }
+
+	public void parse(InputSource input) throws IOException, SAXException {
+		if(null == contentHandler){
+			return;
+		}
+
+		NamespaceSupport namespaces = new NamespaceSupport();
+
+		contentHandler.startDocument();
+		for(XmlNode node : doc.childNodes()){
+			if(node instanceof XmlElement){
+				element((XmlElement)node, namespaces);
+			}else if(node instanceof XmlProcessingInstruction){
+				processingInstruction((XmlProcessingInstruction)node);
+			}
+		}
+		contentHandler.endDocument();
+    }
+
+	private void element(XmlElement e,NamespaceSupport namespaces) throws SAXException {
+		namespaces.pushContext();
+
+		//declares the namespaces first, the attributes may use the prefixes of the same element.
+		for(XmlAttribute attr : e.attributes()){
+			String prefix = namespacePrefix(attr);
+			if(null != prefix){
+				namespaces.declarePrefix(prefix, attr.value());
+				contentHandler.startPrefixMapping(prefix, attr.value());
+			}
+		}
+
+		AttributesImpl attributes = new AttributesImpl();
+		for(XmlAttribute attr : e.attributes()){
+			if(null == namespacePrefix(attr)){
+				String uri = null == attr.prefix() ? "" : uri(namespaces, attr.prefix());
+				attributes.addAttribute(uri, attr.name(), attr.qname(), "CDATA", attr.value());
+			}
+		}
+
+		String uri = uri(namespaces, null == e.prefix() ? "" : e.prefix());
+
+		contentHandler.startElement(uri, e.name(), e.qname(), attributes);
+		for(XmlNode node : e.childNodes()){
+			if(node instanceof XmlText){
+				String text = ((XmlText)node).value();
+				contentHandler.characters(text.toCharArray(), 0, text.length());
+			}else if(node instanceof XmlElement){
+				element((XmlElement)node, namespaces);
+			}else if(node instanceof XmlProcessingInstruction){
+				processingInstruction((XmlProcessingInstruction)node);
+			}
+		}
+		contentHandler.endElement(uri, e.name(), e.qname());
+
+		for(XmlAttribute attr : e.attributes()){
+			String prefix = namespacePrefix(attr);
+			if(null != prefix){
+				contentHandler.endPrefixMapping(prefix);
+			}
+		}
+
+		namespaces.popContext();
+	}
+
+	private void processingInstruction(XmlProcessingInstruction pi) throws SAXException {
+		contentHandler.processingInstruction(pi.getTarget(), pi.getData());
+	}
+
+	//the declared prefix of a namespace declaration attribute, "" for the default namespace, null if not a declaration.
+	private static String namespacePrefix(XmlAttribute attr) {
+		if(null == attr.prefix()){
+			return XMLNS.equals(attr.name()) ? "" : null;
+		}
+		return XMLNS.equals(attr.prefix()) ? attr.name() : null;
+	}
+
+	private static String uri(NamespaceSupport namespaces,String prefix) {
+		String uri = namespaces.getURI(prefix);
+		return null == uri ? "" : uri;
+	}
+}
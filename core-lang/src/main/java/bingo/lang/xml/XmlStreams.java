@@ -0,0 +1,168 @@
+/*
+ * Copyright 2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package bingo.lang.xml;
+
+import java.io.Reader;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import bingo.lang.Action1;
+import bingo.lang.Exceptions;
+
+/**
+ * streams the elements of a large xml document one by one.
+ * 
+ * <p>
+ * each matching element is built with its content as a small detached {@link XmlElement} from the stax reader, 
+ * the rest of the document is skipped without being built, so that the memory used does not grow with the size of the document.
+ */
+public class XmlStreams {
+	
+	//the elements read ahead of the executor per processor.
+	private static final int MAX_PENDING_PER_PROCESSOR = 4;
+	
+	protected XmlStreams(){
+		
+	}
+	
+	/**
+	 * calls the action with each element of the given local name and returns the number of elements.
+	 * 
+	 * <p>
+	 * the elements nested in a matching element are not matched again, the reader is not closed.
+	 */
+	public static int elements(Reader reader,String name,Action1<XmlElement> action) throws XmlException {
+		XMLStreamReader in = createStreamReader(reader);
+		try{
+			int count = 0;
+			
+			while(nextElement(in, name)){
+				action.execute(XmlContainer.parse(null, in));
+				count++;
+			}
+			
+			return count;
+		}catch(XMLStreamException e){
+			throw XmlException.wrap(e);
+		}finally{
+			close(in);
+		}
+	}
+	
+	/**
+	 * same as {@link #elements(Reader, String, Action1)}, the action is run by the given executor.
+	 * 
+	 * <p>
+	 * the reading waits while too many elements are pending, returns when all the actions are done 
+	 * and rethrows the first exception thrown by an action.
+	 * 
+	 * <p>
+	 * if the reading fails, the pending actions are also waited for and the reading exception is thrown.
+	 */
+	public static int elements(Reader reader,String name,final Action1<XmlElement> action,ExecutorService executor) throws XmlException {
+		final int       maxPending = Runtime.getRuntime().availableProcessors() * MAX_PENDING_PER_PROCESSOR;
+		final Semaphore pending    = new Semaphore(maxPending);
+		
+		final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+		
+		XMLStreamReader in     = createStreamReader(reader);
+		int             count  = 0;
+		boolean         waited = false;
+		try{
+			while(null == failure.get() && nextElement(in, name)){
+				final XmlElement element = XmlContainer.parse(null, in);
+				
+				pending.acquire();
+				try{
+					executor.execute(new Runnable() {
+						public void run() {
+							try{
+								action.execute(element);
+							}catch(Throwable e){
+								failure.compareAndSet(null, e);
+							}finally{
+								pending.release();
+							}
+						}
+					});
+				}catch(RuntimeException e){
+					pending.release();
+					throw e;
+				}
+				count++;
+			}
+			
+			//waits for the pending actions
+			pending.acquire(maxPending);
+			waited = true;
+		}catch(XMLStreamException e){
+			throw XmlException.wrap(e);
+		}catch(InterruptedException e){
+			Thread.currentThread().interrupt();
+			throw Exceptions.uncheck(e);
+		}finally{
+			close(in);
+			
+			//no action may still be running when the reading exception is thrown.
+			if(!waited){
+				pending.acquireUninterruptibly(maxPending);
+			}
+			pending.release(maxPending);
+		}
+		
+		Throwable e = failure.get();
+		if(e instanceof Error){
+			throw (Error)e;
+		}else if(null != e){
+			throw Exceptions.uncheck(e);
+		}
+		
+		return count;
+	}
+	
+	private static XMLStreamReader createStreamReader(Reader reader) throws XmlException {
+		if(!XmlFactory.isStaxReaderFound()){
+			throw new XmlException("cannot stream xml elements : 'javax.xml.stream.XMLInputFactory' is invalid");
+		}
+		try {
+	        return XmlFactory.createStreamReader(reader);
+        } catch (XMLStreamException e) {
+        	throw XmlException.wrap(e);
+        }
+	}
+	
+	private static boolean nextElement(XMLStreamReader in,String name) throws XMLStreamException {
+		while(in.hasNext()){
+			if(in.next() == XMLStreamConstants.START_ELEMENT && name.equals(in.getLocalName())){
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	private static void close(XMLStreamReader in) {
+		try {
+	        in.close();
+        } catch (XMLStreamException e) {
+        	//do nothing
+        }
+	}
+}
@@ -17,77 +17,226 @@ package bingo.lang.xml;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.xml.XMLConstants;
 import javax.xml.transform.Source;
 import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.sax.SAXSource;
 import javax.xml.transform.stream.StreamSource;
 import javax.xml.validation.Schema;
 import javax.xml.validation.SchemaFactory;
 import javax.xml.validation.Validator;
 
+import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 
 import bingo.lang.Charsets;
 import bingo.lang.Exceptions;
+import bingo.lang.cache.SimpleLRUMap;
 import bingo.lang.exceptions.UncheckedIOException;
+import bingo.lang.io.IO;
 import bingo.lang.resource.Resource;
 
+/**
+ * validates the xml documents with a compiled xml schema, thread safe.
+ * 
+ * <p>
+ * the compiled schemas are cached by the location of the schema, or by its content if the location is unknown,
+ * the content of a schema found by location is compared with the cached one to detect a modified schema,
+ * the {@link Validator} of the schema is pooled per thread and reused by every validation of the same thread.
+ */
 public class XmlValidator {
 	
+	private static final int MAX_CACHED_SCHEMAS = 100;
+	
+	private static final Map<String, CachedSchema> cache = new SimpleLRUMap<String, CachedSchema>(MAX_CACHED_SCHEMAS);
+	
+	private static final AtomicLong cacheHits   = new AtomicLong();
+	private static final AtomicLong cacheMisses = new AtomicLong();
+	
 	public static XmlValidator of(Resource schemaResource) throws UncheckedIOException {
+		InputStream in = null;
 		try {
-	        return of(schemaResource.getInputStream());
+			in = schemaResource.getInputStream();
+	        return of(schemaResource.getDescription(),IO.toString(in,Charsets.UTF_8));
         } catch (IOException e) {
         	throw Exceptions.uncheck(e);
+        } finally {
+        	IO.close(in);
         }
 	}
 	
 	public static XmlValidator of(InputStream schemaStream) throws UncheckedIOException {
-		return of(new InputStreamReader(schemaStream,Charsets.UTF_8));
+		try {
+	        return of(null,IO.toString(schemaStream,Charsets.UTF_8));
+        } catch (IOException e) {
+        	throw Exceptions.uncheck(e);
+        }
 	}
 	
 	public static XmlValidator of(Reader schemaReader) throws UncheckedIOException {
+		try {
+	        return of(null,IO.toString(schemaReader));
+        } catch (IOException e) {
+        	throw Exceptions.uncheck(e);
+        }
+	}
+	
+	/**
+	 * returns the number of schemas found in the cache.
+	 */
+	public static long getCacheHits() {
+		return cacheHits.get();
+	}
+	
+	/**
+	 * returns the number of schemas compiled.
+	 */
+	public static long getCacheMisses() {
+		return cacheMisses.get();
+	}
+	
+	/**
+	 * resets the cache hits and misses to zero, the cached schemas are kept.
+	 */
+	public static void resetCacheStatistics() {
+		cacheHits.set(0);
+		cacheMisses.set(0);
+	}
+	
+	private static XmlValidator of(String location,String schema) throws UncheckedIOException {
+		String key = null == location ? schema : location;
+		
+		CachedSchema cached;
+		synchronized (cache) {
+			cached = cache.get(key);
+        }
+		
+		if(null != cached && (null == location || cached.schema.equals(schema))){
+			cacheHits.incrementAndGet();
+			return cached.validator;
+		}
+		
+		//compiled outside the lock, a schema compiled twice at the same time is harmless
+		cacheMisses.incrementAndGet();
+		XmlValidator validator = new XmlValidator(compile(schema));
+		
+		synchronized (cache) {
+			cached = cache.get(key);
+			if(null != cached && cached.schema.equals(schema)){
+				return cached.validator;
+			}
+			cache.put(key, new CachedSchema(schema, validator));
+		}
+		
+		return validator;
+	}
+	
+	private static Schema compile(String schema) throws UncheckedIOException {
 		try {
 	        SchemaFactory factory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
 
-	        Source source = new StreamSource(schemaReader);
-	        
-	        Schema schema = factory.newSchema(source);
+	        Source source = new StreamSource(new StringReader(schema));
 	        
-	        return new XmlValidator(schema);
+	        return factory.newSchema(source);
         } catch (SAXException e) {
         	throw new UncheckedIOException("Error create validator from schema : {0}",e.getMessage(),e);
         }
 	}
 	
-	private Schema	schema;
+	private final Schema	schema;
+	
+	private final AtomicLong validations     = new AtomicLong();
+	private final AtomicLong validationNanos = new AtomicLong();
+	
+	private final ThreadLocal<PooledValidator> validators = new ThreadLocal<PooledValidator>(){
+		@Override
+        protected PooledValidator initialValue() {
+	        return new PooledValidator(schema.newValidator());
+        }
+	};
 	
 	protected XmlValidator(Schema schema){
 		this.schema = schema;
 	}
 	
 	public void validate(XmlDocument doc) throws XmlValidationException,UncheckedIOException {
-		Validator validator = schema.newValidator();
+		long start = System.nanoTime();
 		
+		PooledValidator validator = acquire();
 		try {
 			Source source = null;
 	        if(null != doc.domDocument()){
 	        	source = new DOMSource(doc.domDocument());
 	        }else{
-	        	source = new StreamSource(new StringReader(doc.toXml()));
+	        	source = new SAXSource(new XmlSaxReader(doc), new InputSource());
 	        }
-	        validator.validate(source);
+	        validator.validator.validate(source);
         } catch (SAXException e) {
         	throw new XmlValidationException("Error validating xml : {0} \n {1}",e.getMessage(),doc.locationOrUnknow(),e);
         } catch (IOException e) {
         	throw Exceptions.uncheck(e);
+        } finally {
+        	release(validator);
+        	
+        	validations.incrementAndGet();
+        	validationNanos.addAndGet(System.nanoTime() - start);
         }
 	}
 	
+	/**
+	 * returns the number of documents validated by this validator.
+	 */
+	public long getValidations() {
+		return validations.get();
+	}
+	
+	/**
+	 * returns the total time in nanoseconds spent validating the documents.
+	 */
+	public long getValidationNanos() {
+		return validationNanos.get();
+	}
+	
+	private PooledValidator acquire() {
+		PooledValidator validator = validators.get();
+		
+		if(validator.inUse){
+			return new PooledValidator(schema.newValidator());
+		}
+		
+		validator.inUse = true;
+		return validator;
+	}
+	
+	private static void release(PooledValidator validator) {
+		validator.validator.reset();
+		validator.inUse = false;
+	}
+	
+	private static final class PooledValidator {
+		final Validator validator;
+		boolean         inUse;
+		
+		PooledValidator(Validator validator){
+			this.validator = validator;
+		}
+	}
+	
+	private static final class CachedSchema {
+		final String       schema;
+		final XmlValidator validator;
+		
+		CachedSchema(String schema,XmlValidator validator){
+			this.schema    = schema;
+			this.validator = validator;
+		}
+	}
+	
 	/*
 	private static final class DefaultErrorHandler implements ErrorHandler {
 		
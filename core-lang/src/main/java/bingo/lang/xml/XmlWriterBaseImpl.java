@@ -179,7 +179,7 @@ public class XmlWriterBaseImpl extends XmlWriterBase implements XmlWriter {
 		write(" ");
 		writeName("", namespaceURI, localName);
 		write("=\"");
-		if(null != value) { writeCharactersInternal(value.toCharArray(), 0, value.length(), true); }
+		if(null != value) { writeCharactersInternal(value, true); }
 		write("\"");
 		return this;
 	}
@@ -192,7 +192,7 @@ public class XmlWriterBaseImpl extends XmlWriterBase implements XmlWriter {
 		write(" ");
 		writeName(prefix, namespaceURI, localName);
 		write("=\"");
-		if(null != value) { writeCharactersInternal(value.toCharArray(), 0, value.length(), true); }
+		if(null != value) { writeCharactersInternal(value, true); }
 		write("\"");
 		return this;
 	}
@@ -205,7 +205,7 @@ public class XmlWriterBaseImpl extends XmlWriterBase implements XmlWriter {
 		closeStartElement();
 		
 		if(escape && !Strings.isEmpty(text)){
-			return writeCharactersInternal(text.toCharArray(), 0, text.length(), false);
+			return writeCharactersInternal(text, false);
 		}else{
 			write(text);
 			return this;
@@ -292,19 +292,13 @@ public class XmlWriterBaseImpl extends XmlWriterBase implements XmlWriter {
 	}
 	
 	public XmlWriter flush() throws XmlException {
-		try {
-			writer.flush();
-		} catch (IOException e) {
-			throw new XmlException(e);
-		}
+		flushOutput();
 		return this;
 	}
 	
 	public void close() throws XmlException {
 		try {
-			writer.flush();
-		} catch (IOException e) {
-			throw new XmlException(e);
+			flushOutput();
 		} finally {
 			localNameStack.clear();
 			prefixStack.clear();
@@ -323,6 +317,14 @@ public class XmlWriterBaseImpl extends XmlWriterBase implements XmlWriter {
 		}
 	}
 
+	protected void flushOutput() throws XmlException {
+		try {
+			writer.flush();
+		} catch (IOException e) {
+			throw new XmlException(e);
+		}
+	}
+
 	protected void write(String s) throws XmlException {
 		try {
 			writer.write(null == s ? "" : s);
@@ -355,6 +357,10 @@ public class XmlWriterBaseImpl extends XmlWriterBase implements XmlWriter {
 		}
 	}
 
+	protected XmlWriter writeCharactersInternal(String characters, boolean isAttributeValue) throws XmlException {
+		return writeCharactersInternal(characters.toCharArray(), 0, characters.length(), isAttributeValue);
+	}
+
 	protected XmlWriter writeCharactersInternal(char characters[], int start, int length, boolean isAttributeValue) throws XmlException {
 		if (length == 0)
 			return this;
@@ -478,11 +484,15 @@ public class XmlWriterBaseImpl extends XmlWriterBase implements XmlWriter {
 			write(prefix);
 			write(":");
 		}
-		write(localName);
+		writeName(localName);
 		return prefix;
 
 	}
 
+	protected void writeName(String name) throws XmlException {
+		write(name);
+	}
+
 	private String getPrefixInternal(String namespaceURI) {
 		String prefix = context.getPrefix(namespaceURI);
 		if (prefix == null) {
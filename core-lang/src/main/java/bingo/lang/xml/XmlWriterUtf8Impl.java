@@ -0,0 +1,259 @@
+/*
+ * Copyright 2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package bingo.lang.xml;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import bingo.lang.Charsets;
+
+/**
+ * {@link XmlWriter} encoding the xml as UTF-8 into a byte buffer written to an {@link OutputStream} every time it is full.
+ * 
+ * <p>
+ * the text and attribute values are escaped by the precomputed escape tables and the runs of safe ascii chars are copied at once,
+ * the encoded names of the elements and attributes are cached.
+ */
+final class XmlWriterUtf8Impl extends XmlWriterBaseImpl {
+	
+	static final int DEFAULT_BUFFER_SIZE = 8192;
+	
+	//the name cache is cleared when it grows larger than this size.
+	private static final int MAX_CACHED_NAMES = 256;
+	
+	//the escaped bytes of each ascii char, null if the char is written as is.
+	private static final byte[][] NO_ESCAPES        = new byte[128][];
+	private static final byte[][] TEXT_ESCAPES      = escapes(false);
+	private static final byte[][] ATTRIBUTE_ESCAPES = escapes(true);
+	
+	private final OutputStream        out;
+	private final byte[]              buf;
+	private int                       pos;
+	private final Map<String, byte[]> names = new HashMap<String, byte[]>();
+	
+	XmlWriterUtf8Impl(OutputStream out) {
+		this(out,new byte[DEFAULT_BUFFER_SIZE]);
+	}
+	
+	XmlWriterUtf8Impl(OutputStream out,byte[] buffer) {
+		this.out = out;
+		this.buf = buffer;
+	}
+	
+	/**
+	 * writes the xml declaration of the given version and encoding, the encoding must be UTF-8 or one of its aliases.
+	 * 
+	 * @throws XmlException if the encoding is not UTF-8, the bytes written would not match the declaration.
+	 */
+	@Override
+	public XmlWriter startDocument(String version, String encoding) throws XmlException {
+		if(!isUtf8(encoding)){
+			throw new XmlException("Unsupported encoding '{0}', the writer encodes the xml as UTF-8",encoding);
+		}
+		
+		write("<?xml version=\"");
+		write(version);
+		write("\" encoding=\"");
+		write(encoding);
+		write("\"?>");
+		return this;
+	}
+	
+	@Override
+	protected void write(String s) throws XmlException {
+		if(null != s){
+			write(s, NO_ESCAPES);
+		}
+	}
+
+	@Override
+	protected void write(char c) throws XmlException {
+		write(String.valueOf(c), NO_ESCAPES);
+	}
+
+	@Override
+	protected void write(char[] c) throws XmlException {
+		write(new String(c), NO_ESCAPES);
+	}
+
+	@Override
+	protected void write(char[] c, int start, int len) throws XmlException {
+		write(new String(c, start, len), NO_ESCAPES);
+	}
+	
+	@Override
+	protected XmlWriter writeCharactersInternal(String characters, boolean isAttributeValue) throws XmlException {
+		write(characters, isAttributeValue ? ATTRIBUTE_ESCAPES : TEXT_ESCAPES);
+		return this;
+	}
+
+	@Override
+	protected XmlWriter writeCharactersInternal(char[] characters, int start, int length, boolean isAttributeValue) throws XmlException {
+		return writeCharactersInternal(new String(characters, start, length), isAttributeValue);
+	}
+	
+	@Override
+	protected void writeName(String name) throws XmlException {
+		byte[] bytes = names.get(name);
+		
+		if(null == bytes){
+			if(names.size() == MAX_CACHED_NAMES){
+				names.clear();
+			}
+			bytes = encode(name);
+			names.put(name, bytes);
+		}
+		
+		write(bytes);
+	}
+
+	@Override
+	protected void flushOutput() throws XmlException {
+		try {
+			flushBuffer();
+			out.flush();
+		} catch (IOException e) {
+			throw new XmlException(e);
+		}
+	}
+	
+	private static boolean isUtf8(String encoding) {
+		if(Charsets.UTF_8.name().equalsIgnoreCase(encoding)){
+			return true;
+		}
+		
+		for(String alias : Charsets.UTF_8.aliases()){
+			if(alias.equalsIgnoreCase(encoding)){
+				return true;
+			}
+		}
+		
+		return false;
+	}
+	
+	private void write(String s,byte[][] escapes) throws XmlException {
+		final int len = s.length();
+		
+		int i = 0;
+		while(i < len){
+			//copies the run of safe ascii chars
+			int p     = pos;
+			int limit = Math.min(buf.length, p + len - i);
+			
+			for(;p < limit;p++,i++){
+				char c = s.charAt(i);
+				if(c >= 0x80 || null != escapes[c]){
+					break;
+				}
+				buf[p] = (byte)c;
+			}
+			pos = p;
+			
+			if(i == len){
+				break;
+			}
+			
+			if(p == buf.length){
+				flushBuffer();
+				continue;
+			}
+			
+			char c = s.charAt(i++);
+			if(c < 0x80){
+				write(escapes[c]);
+				continue;
+			}
+			
+			if(pos + 4 > buf.length){
+				flushBuffer();
+			}
+			
+			if(c < 0x800){
+				buf[pos++] = (byte)(0xC0 | (c >> 6));
+				buf[pos++] = (byte)(0x80 | (c & 0x3F));
+			}else if(Character.isHighSurrogate(c) && i < len && Character.isLowSurrogate(s.charAt(i))){
+				int cp = Character.toCodePoint(c, s.charAt(i++));
+				
+				buf[pos++] = (byte)(0xF0 | (cp >> 18));
+				buf[pos++] = (byte)(0x80 | ((cp >> 12) & 0x3F));
+				buf[pos++] = (byte)(0x80 | ((cp >> 6) & 0x3F));
+				buf[pos++] = (byte)(0x80 | (cp & 0x3F));
+			}else if(Character.isHighSurrogate(c) || Character.isLowSurrogate(c)){
+				//unpaired surrogate
+				buf[pos++] = '?';
+			}else{
+				buf[pos++] = (byte)(0xE0 | (c >> 12));
+				buf[pos++] = (byte)(0x80 | ((c >> 6) & 0x3F));
+				buf[pos++] = (byte)(0x80 | (c & 0x3F));
+			}
+		}
+	}
+	
+	private void write(byte[] bytes) throws XmlException {
+		if(pos + bytes.length > buf.length){
+			flushBuffer();
+			
+			if(bytes.length > buf.length){
+				try {
+					out.write(bytes);
+				} catch (IOException e) {
+					throw new XmlException(e);
+				}
+				return;
+			}
+		}
+		System.arraycopy(bytes, 0, buf, pos, bytes.length);
+		pos += bytes.length;
+	}
+	
+	private void flushBuffer() throws XmlException {
+		if(pos > 0){
+			try {
+				out.write(buf, 0, pos);
+			} catch (IOException e) {
+				throw new XmlException(e);
+			}
+			pos = 0;
+		}
+	}
+	
+	private static byte[] encode(String s) {
+		return s.getBytes(Charsets.UTF_8);
+	}
+	
+	//the same escaping as XmlWriterBaseImpl.writeCharactersInternal with an UTF-8 encoder.
+	private static byte[][] escapes(boolean isAttributeValue) {
+		byte[][] escapes = new byte[128][];
+		
+		for(char c = 0;c < 32;c++){
+			if(isAttributeValue || (c != '\t' && c != '\n')){
+				escapes[c] = encode("&#" + (int)c + ";");
+			}
+		}
+		
+		escapes['&'] = encode("&amp;");
+		escapes['<'] = encode("&lt;");
+		escapes['>'] = encode("&gt;");
+		
+		if(isAttributeValue){
+			escapes['"'] = encode("&quot;");
+		}
+		
+		return escapes;
+	}
+}
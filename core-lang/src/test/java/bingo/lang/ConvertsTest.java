@@ -23,12 +23,15 @@ import java.math.BigDecimal;
 import java.sql.Clob;
 import java.sql.SQLException;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.UUID;
 
 import org.junit.Test;
 import static org.junit.Assert.*;
 
+import bingo.lang.convert.NumberConverters;
+import bingo.lang.testbed.beans.TestBean;
 import bingo.lang.testing.Df;
 import bingo.lang.testing.Perf;
 import bingo.lang.testing.junit.Concurrent;
@@ -65,6 +68,18 @@ public class ConvertsTest extends ConcurrentTestCase {
 				});
 	}
 	
+	@Test
+	public void testConvertPlan(){
+		assertSame(Converts.plan(String.class, Integer.class), Converts.plan(String.class, Integer.class));
+		assertEquals(new Integer(100), Converts.convert("100", Integer.class));
+		assertEquals(new Integer(200), Converts.convert("200", Integer.class));
+		
+		Converts.Plan plan = Converts.plan(String.class, Long.class);
+		Converts.register(Long.class, new NumberConverters.LongConverter());
+		assertNotSame(plan, Converts.plan(String.class, Long.class));
+		assertEquals(new Long(100), Converts.convert("100", Long.class));
+	}
+	
 	@Test
 	public void testToPrimitiveClassObject(){
 		assertTrue(0 == Converts.toPrimitive(null,Integer.TYPE));
@@ -72,6 +87,24 @@ public class ConvertsTest extends ConcurrentTestCase {
 	}
 	
 	
+	@Test
+	public void testMapToBean(){
+		Map<String, Object> map = new LinkedHashMap<String, Object>();
+		map.put("NAME", "x");
+		map.put("name", "y");
+		map.put("age", "30");
+		map.put("stringArray", "a,b");
+		map.put("unknown", 1);
+		
+		for(int i=0;i<2;i++){
+			TestBean bean = Converts.convert(map, TestBean.class);
+			
+			assertEquals("x", bean.getName());
+			assertEquals(30, bean.getAge());
+			assertArrayEquals(new String[]{"a","b"}, bean.getStringArray());
+		}
+	}
+	
 	@Test
 	public void testClobToString(){
 		String string = "abcdefghijk\r\nabcdefg";
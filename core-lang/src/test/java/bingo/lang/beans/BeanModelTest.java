@@ -0,0 +1,170 @@
+/*
+ * Copyright 2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package bingo.lang.beans;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import bingo.lang.exceptions.ReflectException;
+import bingo.lang.testing.junit.ConcurrentIgnore;
+import bingo.lang.testing.junit.ConcurrentTestCase;
+
+public class BeanModelTest extends ConcurrentTestCase {
+
+	@Test
+	public void testToRowsAndFromRows() {
+		BeanModel<RowBean> model = BeanModel.get(RowBean.class);
+
+		List<RowBean> beans = new ArrayList<RowBean>();
+		for(int i=0;i<BeanModel.MIN_ROWS_PER_TASK * 3;i++){
+			beans.add(new RowBean("name" + i, i));
+		}
+
+		List<Map<String, Object>> rows = model.toRows(beans);
+		assertEquals(beans.size(), rows.size());
+		assertEquals(model.toMap(beans.get(1)), rows.get(1));
+		assertEquals("name1", rows.get(1).get("name"));
+
+		try {
+	        rows.get(1).put("notExists", "x");
+	        fail("should throw UnsupportedOperationException");
+        } catch (UnsupportedOperationException e) {
+        	//expected
+        }
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try{
+			assertEquals(rows, model.toRows(beans, executor));
+
+			List<RowBean> copies = model.fromRows(rows, executor);
+			assertEquals(beans.size(), copies.size());
+			assertEquals("name2999", copies.get(2999).getName());
+			assertEquals(2999, copies.get(2999).getAge());
+		}finally{
+			executor.shutdown();
+		}
+
+		Map<String, Object> row = new HashMap<String, Object>();
+		row.put("name", "x");
+		row.put("age", "10");
+
+		RowBean bean = model.fromRows(Collections.singletonList(row)).get(0);
+		assertEquals("x", bean.getName());
+		assertEquals(10, bean.getAge());
+	}
+
+	@Test
+	public void testGetProperty() {
+		BeanModel<RowBean> model = BeanModel.get(RowBean.class);
+		
+		BeanProperty name = model.getProperty("name");
+		assertEquals("name", name.getName());
+		assertNull(model.getProperty("NAME"));
+		assertNull(model.getProperty(null));
+		
+		assertSame(name, model.getPropertyIgnoreCase("NAME"));
+		assertSame(model.getProperty("age"), model.getPropertyIgnoreCase("Age"));
+		assertNull(model.getPropertyIgnoreCase("notExists"));
+		assertNull(model.getPropertyIgnoreCase(null));
+	}
+
+	@Test
+	@ConcurrentIgnore
+	public void testToRowsFailsInCallingThread() throws Exception {
+		BeanModel<CountingBean> model = BeanModel.get(CountingBean.class);
+
+		AtomicInteger counter = new AtomicInteger();
+
+		List<CountingBean> beans = new ArrayList<CountingBean>();
+		beans.add(new CountingBean(null));
+		for(int i=1;i<BeanModel.MIN_ROWS_PER_TASK * 3;i++){
+			beans.add(new CountingBean(counter));
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(1);
+		try{
+			model.toRows(beans, executor);
+			fail("should throw ReflectException");
+		}catch(ReflectException e){
+			assertTrue(e.getCause() instanceof IllegalStateException);
+
+			//the first range is run by the calling thread, the other tasks must be done when the exception is thrown.
+			int read = counter.get();
+
+			executor.shutdown();
+			assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+			assertEquals(read, counter.get());
+		}finally{
+			executor.shutdownNow();
+		}
+	}
+
+	public static final class CountingBean {
+		private final AtomicInteger counter;
+
+		public CountingBean(AtomicInteger counter) {
+			this.counter = counter;
+		}
+
+		public String getName() {
+			if(null == counter){
+				throw new IllegalStateException("failed");
+			}
+			counter.incrementAndGet();
+			Thread.yield();
+			return "name";
+		}
+	}
+
+	public static final class RowBean {
+		private String name;
+		private int    age;
+
+		public RowBean() {
+
+		}
+
+		public RowBean(String name,int age) {
+			this.name = name;
+			this.age  = age;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public int getAge() {
+			return age;
+		}
+
+		public void setAge(int age) {
+			this.age = age;
+		}
+	}
+}
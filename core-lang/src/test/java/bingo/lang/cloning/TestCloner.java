@@ -194,6 +194,102 @@ public class TestCloner extends TestCase
 		}
 	}
 
+	public void testCloneObjectArrays()
+	{
+		final String[] sa = { "a", "b" };
+		final String[] scloned = cloner.deepClone(sa);
+		assertNotSame(sa, scloned);
+		assertSame(sa[1], scloned[1]);
+
+		final Fields f = new Fields();
+		final Object[] oa = { f, f, "c" };
+		final Object[] ocloned = cloner.deepClone(oa);
+		assertNotSame(f, ocloned[0]);
+		assertSame(ocloned[0], ocloned[1]);
+		assertEquals("c", ocloned[2]);
+	}
+
+	public void testClonePrimitiveAndImmutableFields()
+	{
+		final Fields f = new Fields();
+		f.i = 1;
+		f.l = 2L;
+		f.c = 'c';
+		f.d = 3.5d;
+		f.b = true;
+		f.s = "s";
+		f.integer = 4;
+		f.ints = new int[] { 5, 6 };
+		f.next = new Fields();
+		f.next.s = "next";
+
+		final Fields cloned = cloner.deepClone(f);
+		assertEquals(1, cloned.i);
+		assertEquals(2L, cloned.l);
+		assertEquals('c', cloned.c);
+		assertEquals(3.5d, cloned.d, 0d);
+		assertTrue(cloned.b);
+		assertSame(f.s, cloned.s);
+		assertSame(f.integer, cloned.integer);
+		assertNotSame(f.ints, cloned.ints);
+		assertEquals(6, cloned.ints[1]);
+		assertNotSame(f.next, cloned.next);
+		assertEquals("next", cloned.next.s);
+	}
+
+	public void testRegisterImmutableAfterCloning() throws Exception
+	{
+		final Cloner c = new Cloner();
+		final Fields f = new Fields();
+		assertNotSame(f, c.deepClone(f));
+
+		c.registerImmutableClass(Fields.class);
+		assertSame(f, c.deepClone(f));
+
+		final Throwable[] errors = new Throwable[1];
+		final Thread[] threads = new Thread[4];
+		for (int i = 0; i < threads.length; i++)
+		{
+			threads[i] = new Thread() {
+				@Override
+				public void run()
+				{
+					try
+					{
+						for (int j = 0; j < 1000; j++)
+						{
+							final Object[] values = { new Object(), "v" };
+							c.registerImmutableValue(values[0]);
+							assertSame(values[0], c.deepClone(values)[0]);
+						}
+					} catch (final Throwable e)
+					{
+						errors[0] = e;
+					}
+				}
+			};
+			threads[i].start();
+		}
+		for (final Thread thread : threads)
+		{
+			thread.join();
+		}
+		assertNull(errors[0]);
+	}
+
+	static public class Fields
+	{
+		int		i;
+		long	l;
+		char	c;
+		double	d;
+		boolean	b;
+		String	s;
+		Integer	integer;
+		int[]	ints;
+		Fields	next;
+	}
+
 	private class Simple
 	{
 		private int		x	= 1;
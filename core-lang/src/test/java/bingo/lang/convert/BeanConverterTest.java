@@ -0,0 +1,61 @@
+/*
+ * Copyright 2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package bingo.lang.convert;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import bingo.lang.Converts;
+import bingo.lang.json.JSONNamed;
+import bingo.lang.reflect.ReflectAccess;
+import bingo.lang.reflect.ReflectAccess.Backend;
+import bingo.lang.testing.junit.ConcurrentTestCase;
+
+import static org.junit.Assert.*;
+
+public class BeanConverterTest extends ConcurrentTestCase {
+
+	@Test
+	public void testExactKeyPrecedence() {
+		Map<String, Object> map = new LinkedHashMap<String, Object>();
+		map.put("name", "lower");
+		map.put("NAME", "upper");
+		map.put("ID", "ignoreCase");
+		map.put("id", "exact");
+		map.put("Id", "ignored");
+		
+		CaseBean bean = Converts.convert(map, CaseBean.class);
+		assertEquals("upper", bean.upper);
+		assertEquals("lower", bean.lower);
+		assertEquals("exact", bean.id);
+		
+		map.remove("id");
+		assertEquals("ignoreCase", Converts.convert(map, CaseBean.class).id);
+	}
+	
+	@ReflectAccess(Backend.REFLECTION)
+	public static final class CaseBean {
+		@JSONNamed("NAME")
+		public String upper;
+		
+		@JSONNamed("name")
+		public String lower;
+		
+		public String id;
+	}
+}
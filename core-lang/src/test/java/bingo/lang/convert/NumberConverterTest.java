@@ -21,6 +21,7 @@ import java.math.BigInteger;
 import org.junit.Test;
 
 import bingo.lang.Converts;
+import bingo.lang.exceptions.ConvertException;
 import bingo.lang.testing.junit.ConcurrentTestCase;
 
 import static org.junit.Assert.*;
@@ -502,4 +503,30 @@ public class NumberConverterTest extends ConcurrentTestCase {
             assertEquals(message[i] + " to BigInteger",expected[i],Converts.convert(input[i],BigInteger.class));
         }
     }	
+    
+	@Test
+	public void testPrimitiveConversion() throws Exception {
+		assertEquals(42, Converts.toInt(" 42 "));
+		assertEquals(-17, Converts.toInt(new StringBuilder("-17")));
+		assertEquals(1, Converts.toInt("true"));
+		assertEquals(0, Converts.toInt(""));
+		assertEquals(0, Converts.toInt(" "));
+		assertEquals(0L, Converts.toLong(""));
+		assertEquals(0d, Converts.toDouble(" "), 0d);
+		assertNull(Converts.convert("", Integer.class));
+		assertEquals(Integer.MIN_VALUE, Converts.toInt(String.valueOf(Integer.MIN_VALUE)));
+		assertEquals(1234567890123456789L, Converts.toLong("1234567890123456789"));
+		assertEquals(1.5d, Converts.toDouble(" 1.5 "), 0d);
+		assertEquals(7d, Converts.toDouble(7), 0d);
+		
+		try {
+			Converts.toInt(String.valueOf(Long.MAX_VALUE / 10));
+			fail("should throw ConvertException");
+		} catch (ConvertException e) {
+			//expected
+		}
+		
+		assertArrayEquals(new int[]{1,2,0}, Converts.toIntArray(new Object[]{"1",2L,null}));
+		assertArrayEquals(new long[]{1,2}, Converts.convert(new String[]{"1","2"}, long[].class));
+	}
 }
@@ -16,11 +16,16 @@
  */
 package bingo.lang.json;
 
+import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 import org.junit.Test;
@@ -167,6 +172,165 @@ public class JSONDecodeTest extends ConcurrentTestCase {
     	assertEquals("xxx",bean1.name);
     }
 
+    @Test
+    public void testDecodeNestedBeans(){
+    	String json = "{id:\"1\",NAME1:\"xx\",child:{id:\"2\"},children:[{id:\"3\",name:\"yy\"},{id:\"4\"}],unknown:{a:[1,2]}}";
+    	
+    	NestedBean bean = JSON.decode(json,NestedBean.class);
+    	assertEquals("1",bean.id);
+    	assertEquals("xx",bean.name);
+    	assertEquals("2",bean.child.id);
+    	assertEquals(2,bean.children.size());
+    	assertEquals("yy",bean.children.get(0).name);
+    	assertEquals("4",bean.children.get(1).id);
+    	
+    	NestedBean[] beans = JSON.decode("[" + json + "," + json + "]",NestedBean[].class);
+    	assertEquals(2,beans.length);
+    	assertEquals("3",beans[1].children.get(0).id);
+    }
+
+    @Test
+    public void testDecodeDuplicateKeys(){
+    	for(String json : new String[]{"{id:\"1\",id:\"2\"}","{id:\"1\",ID:\"2\"}","{name1:\"x\",name:\"y\"}"}){
+    		try{
+    			JSON.decode(json,NestedBean.class);
+    			fail("should be invalid : " + json);
+    		}catch(JSONParserException e){
+    			assertEquals(JSONParserException.ERROR_UNEXPECTED_DUPLICATE_KEY, e.getErrorType());
+    		}
+    	}
+    	
+    	NestedBean bean = JSON.decode("{id:\"1\",child:{id:\"2\"},unknown:1,unknown:2}",NestedBean.class);
+    	assertEquals("1",bean.id);
+    	assertEquals("2",bean.child.id);
+    }
+
+    @Test
+    public void testDecodeGenericCollections(){
+    	String json = "{ids:[1,2,\"3\"],codes:[4,\"5\",4],names:[1,\"b\"],values:[\"6\",7]}";
+    	
+    	for(CollectionBean bean : new CollectionBean[]{JSON.decode(json,CollectionBean.class),JSON.decode(json.getBytes(),CollectionBean.class)}){
+	    	assertEquals(Arrays.asList(1L,2L,3L),bean.ids);
+	    	assertEquals(new HashSet<Long>(Arrays.asList(4L,5L)),bean.codes);
+	    	assertEquals(Arrays.asList("1","b"),bean.names);
+	    	
+	    	long id = bean.ids.get(0);
+	    	assertEquals(1L,id);
+	    	assertTrue(Arrays.equals(new Long[]{6L,7L},bean.values));
+    	}
+    }
+
+    @Test
+    public void testDecodeBytes() throws Exception {
+    	String json = "{id:\"1\",name1:\"中文😀\\\"\\u00e9\",child:{id:\"名字\"},values:[1,2.5,\"é\"]}";
+    	byte[] bytes = json.getBytes("UTF-8");
+    	
+    	Map<String, Object> map = JSON.decode(json).map();
+    	assertEquals(map, JSON.decode(bytes).map());
+    	assertEquals(map, JSON.decode(ByteBuffer.wrap(bytes)).map());
+    	assertEquals(map, JSON.decode(new ByteArrayInputStream(bytes)).map());
+    	assertEquals("中文😀\"é", map.get("name1"));
+    	
+    	ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+    	direct.put(bytes).flip();
+    	assertEquals(map, JSON.decode(direct).map());
+    	assertEquals(0, direct.position());
+    	
+    	NestedBean bean = JSON.decode(bytes, NestedBean.class);
+    	assertEquals("中文😀\"é", bean.name);
+    	assertEquals("名字", bean.child.id);
+    }
+
+    @Test
+    public void testDecodeMalformedBytes() throws Exception {
+    	//truncated 3 bytes sequence of '中' right before the closing quote.
+    	byte[] bytes = new byte[]{'{','"','a','"',':','"','x',(byte)0xE4,(byte)0xB8,'"',',','"','b','"',':','1','}'};
+    	
+    	Map<String, Object> map = JSON.decode(bytes).map();
+    	assertEquals("x\uFFFD", map.get("a"));
+    	assertEquals(1, map.get("b"));
+    	assertEquals(map, JSON.decode(new ByteArrayInputStream(bytes)).map());
+    }
+
+    @Test
+    public void testDecodeNumbers() throws Exception {
+    	List<Object> list = JSON.decode("[0,-7,2147483648,-9223372036854775808,9223372036854775808,0.5,-1.5e3,1e-2,0.3,12345678901234567890.5]").arraylist();
+    	
+    	assertEquals(0, list.get(0));
+    	assertEquals(-7, list.get(1));
+    	assertEquals(2147483648L, list.get(2));
+    	assertEquals(Long.MIN_VALUE, list.get(3));
+    	assertEquals(new java.math.BigInteger("9223372036854775808"), list.get(4));
+    	assertEquals(0.5d, list.get(5));
+    	assertEquals(-1500d, list.get(6));
+    	assertEquals(0.01d, list.get(7));
+    	assertEquals(0.3d, list.get(8));
+    	assertEquals(new java.math.BigDecimal("12345678901234567890.5"), list.get(9));
+    	
+    	assertTrue(Arrays.equals(new int[]{1,-2,3,400}, JSON.decode("[1,-2,3,4e2]", int[].class)));
+    	assertTrue(Arrays.equals(new long[]{1,-2,9223372036854775807L}, JSON.decode("[1,-2,9223372036854775807]".getBytes("UTF-8"), long[].class)));
+    	assertTrue(Arrays.equals(new double[]{1,-2.5,0.001}, JSON.decode("[1, -2.5 ,1e-3]", double[].class)));
+    }
+
+    @Test
+    public void testDecodePrimitiveArrayElements() throws Exception {
+    	assertTrue(Arrays.equals(new int[]{1,0,3}, JSON.decode("[1,null,3]", int[].class)));
+    	assertTrue(Arrays.equals(new long[]{0,2}, JSON.decode("[null,2]", long[].class)));
+    	assertTrue(Arrays.equals(new double[]{0,2}, JSON.decode("[null,2]", double[].class)));
+    	assertTrue(Arrays.equals(new int[]{Integer.MAX_VALUE,Integer.MIN_VALUE}, JSON.decode("[2147483647,-2147483648]", int[].class)));
+    	
+    	for(String json : new String[]{"[1,3000000000]","[-2147483649]","[1.5]"}){
+    		try{
+    			JSON.decode(json, int[].class);
+    			fail("should be invalid : " + json);
+    		}catch(JSONParserException e){
+    			
+    		}
+    	}
+    	
+    	try{
+    		JSON.decode("[1,-2.5]".getBytes("UTF-8"), long[].class);
+    		fail("should be invalid");
+    	}catch(JSONParserException e){
+    		
+    	}
+    }
+
+    @Test
+    public void testInternKeys() throws Exception {
+    	String json = "[{\"id\":1,\"名字\":\"a\"},{\"id\":2,\"名字\":\"b\"}]";
+    	
+    	JSONCodec codec = new JSONCodec(new JSONSettings(JSONSettings.INTERN_KEYS));
+    	
+    	for(Object[] array : new Object[][]{codec.decode(json).array(),codec.decode(json.getBytes("UTF-8")).array()}){
+    		assertEquals(JSON.decode(json).arraylist(), Arrays.asList(array));
+    		
+    		List<String> keys0 = new ArrayList<String>(((Map<String,Object>)array[0]).keySet());
+    		List<String> keys1 = new ArrayList<String>(((Map<String,Object>)array[1]).keySet());
+    		assertSame(keys0.get(0), keys1.get(0));
+    		assertSame(keys0.get(1), keys1.get(1));
+    	}
+    }
+
+    @Test
+    public void testInternUnquotedKeys() throws Exception {
+    	String json = "[{ id :1, name\t:\"a\"},{id  :2,name:\"b\"}]";
+    	
+    	JSONCodec codec = new JSONCodec(new JSONSettings(JSONSettings.INTERN_KEYS));
+    	
+    	Object[][] arrays = new Object[][]{codec.decode(json).array(),
+    									   codec.decode(json.getBytes("UTF-8")).array(),
+    									   codec.decode(new ByteArrayInputStream(json.getBytes("UTF-8"))).array()};
+    	
+    	for(Object[] array : arrays){
+    		List<String> keys0 = new ArrayList<String>(((Map<String,Object>)array[0]).keySet());
+    		List<String> keys1 = new ArrayList<String>(((Map<String,Object>)array[1]).keySet());
+    		assertEquals(Arrays.asList("id","name"), keys0);
+    		assertSame(keys0.get(0), keys1.get(0));
+    		assertSame(keys0.get(1), keys1.get(1));
+    	}
+    }
+
     private static class Bean {
     	public String name = UUID.randomUUID().toString();
     }
@@ -175,4 +339,19 @@ public class JSONDecodeTest extends ConcurrentTestCase {
     	@JSONNamed("Name")
     	public String name;
     }
+    
+    private static class NestedBean {
+    	public String           id;
+    	@JSONNamed("name1")
+    	public String           name;
+    	public NestedBean       child;
+    	public List<NestedBean> children;
+    }
+    
+    private static class CollectionBean {
+    	public List<Long>   ids;
+    	public Set<Long>    codes;
+    	public List<String> names;
+    	public Long[]       values;
+    }
 }
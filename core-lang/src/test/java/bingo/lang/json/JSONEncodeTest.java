@@ -15,6 +15,8 @@
  */
 package bingo.lang.json;
 
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.text.SimpleDateFormat;
@@ -27,6 +29,7 @@ import java.util.Map;
 
 import org.junit.Test;
 
+import bingo.lang.Charsets;
 import bingo.lang.testing.junit.ConcurrentTestCase;
 
 public class JSONEncodeTest extends ConcurrentTestCase {
@@ -62,6 +65,22 @@ public class JSONEncodeTest extends ConcurrentTestCase {
 		assertEquals(String.valueOf(date.getTime()), encode(date));
 	}
 	
+	@Test
+	public void testEscapeString() throws Exception {
+		assertEquals("\"abc\"", encode("abc"));
+		assertEquals("\"a\\\"b\\\\c\"", encode("a\"b\\c"));
+		assertEquals("\"\\r\\n\\t\\b\\f\\u0001\\u001F\"", encode("\r\n\t\b\f\u0001\u001F"));
+		assertEquals("\"中文\\n\"", encode("中文\n"));
+
+		StringWriter writer = new StringWriter();
+		JSON.encode("line1\nline2\n", writer);
+		assertEquals("\"line1\\nline2\\n\"", writer.toString());
+
+		Map<String,Object> map = new LinkedHashMap<String, Object>();
+		map.put("a\"b", 1);
+		assertEquals("{\"a\\\"b\":1}", JSON.encode(map,true));
+	}
+	
 	@Test
 	public void testSimpleArray() throws Exception {
 		assertEquals("[\"test1\",\"test2\"]", encode(new String[]{"test1","test2"}));
@@ -107,6 +126,56 @@ public class JSONEncodeTest extends ConcurrentTestCase {
 		assertEquals("xx", bean.name);
 	}
 	
+	@Test
+	public void testBeanCodec() throws Exception {
+		JSONBeanCodec codec = JSONBeanCodec.get(NamedBean.class);
+
+		assertSame(codec, JSONBeanCodec.get(NamedBean.class));
+		assertEquals(2, codec.getProperties().length);
+		assertEquals("name1", codec.getProperties()[1].name);
+
+		assertEquals("{\"id\":\"1\",\"name1\":\"xx\"}", JSON.encode(new NamedBean("1","xx"),true));
+		assertEquals("{\"name\":\"xiaoming\",\"age\":100}", JSON.encode(new ParentBean("xiaoming",100),true));
+	}
+
+	@Test
+	public void testEncodeToStream() throws Exception {
+		List<Object> list = new ArrayList<Object>();
+		for(int i=0;i<5000;i++){
+			list.add(new NamedBean(String.valueOf(i),"中文😀"));
+		}
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		JSON.encode(list, out, Charsets.UTF_8);
+		assertEquals(JSON.encode(list), new String(out.toByteArray(),"UTF-8"));
+
+		out = new ByteArrayOutputStream();
+		JSON.encode(list, out, Charsets.UTF_16, true);
+		assertEquals(JSON.encode(list,true), new String(out.toByteArray(),"UTF-16"));
+
+		StringWriter writer = new StringWriter();
+		JSON.encode(null, writer);
+		assertEquals(JSONWriterImpl.NULL_STRING, writer.toString());
+	}
+
+	@Test
+	public void testCodec() throws Exception {
+		JSONCodec codec = new JSONCodec(new JSONSettings(JSONSettings.KEY_NON_QUOTE));
+
+		for(int i=0;i<3;i++){
+			String json = codec.encode(new NamedBean(String.valueOf(i),"xx"));
+			assertEquals("{id:\"" + i + "\",name1:\"xx\"}", json);
+
+			NamedBean bean = codec.decode(json, NamedBean.class);
+			assertEquals(String.valueOf(i), bean.id);
+			assertEquals("xx", bean.name);
+		}
+
+		Category parent = new Category("1");
+		parent.getChilds().add(new Category("2",parent));
+		assertEquals(codec.encode(parent), codec.encode(parent));
+	}
+
 	@Test
 	public void testCyclicBean() throws Exception {
 		Category parent = new Category("1");
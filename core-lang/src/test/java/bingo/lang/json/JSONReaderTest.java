@@ -0,0 +1,99 @@
+/*
+ * Copyright 2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package bingo.lang.json;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import bingo.lang.testing.junit.ConcurrentTestCase;
+
+public class JSONReaderTest extends ConcurrentTestCase {
+	
+	@Test
+	public void testTokens() {
+		JSONReader reader = JSON.createReader(new StringReader("{\"a\":1,b:[\"x\",null,true],c:{}}"));
+		
+		assertEquals(JSONToken.START_OBJECT, reader.next());
+		assertEquals(JSONToken.NAME, reader.next());
+		assertEquals("a", reader.getString());
+		assertEquals(JSONToken.NUMBER, reader.next());
+		assertEquals(1, reader.getNumber().intValue());
+		assertEquals(JSONToken.NAME, reader.next());
+		assertEquals(JSONToken.START_ARRAY, reader.next());
+		assertEquals(2, reader.getDepth());
+		assertEquals(JSONToken.STRING, reader.next());
+		assertEquals("x", reader.getString());
+		assertEquals(JSONToken.NULL, reader.next());
+		assertEquals(JSONToken.BOOLEAN, reader.next());
+		assertTrue(reader.getBoolean());
+		assertEquals(JSONToken.END_ARRAY, reader.next());
+		assertEquals(JSONToken.NAME, reader.next());
+		assertEquals(JSONToken.START_OBJECT, reader.next());
+		assertEquals(JSONToken.END_OBJECT, reader.next());
+		assertEquals(JSONToken.END_OBJECT, reader.next());
+		assertEquals(0, reader.getDepth());
+		assertEquals(JSONToken.END_DOCUMENT, reader.next());
+	}
+	
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testSkipAndReadValue() {
+		JSONReader reader = JSON.createReader(new StringReader("{a:[1,{b:\"]}\"}],c:{d:[1,2]},e:3}"));
+		
+		assertEquals(JSONToken.START_OBJECT, reader.next());
+		assertEquals(JSONToken.NAME, reader.next());
+		reader.skipValue();
+		assertEquals(JSONToken.END_ARRAY, reader.getToken());
+		
+		assertEquals(JSONToken.NAME, reader.next());
+		Map<String, Object> c = (Map<String, Object>)reader.readValue();
+		assertEquals(2, ((List<Object>)c.get("d")).size());
+		
+		assertEquals(JSONToken.NAME, reader.next());
+		assertEquals("e", reader.getString());
+		assertEquals(3, ((Number)reader.readValue()).intValue());
+		assertEquals(JSONToken.END_OBJECT, reader.next());
+		assertEquals(JSONToken.END_DOCUMENT, reader.next());
+	}
+	
+	@Test
+	public void testDecodeArray() {
+		List<Object> ids = new ArrayList<Object>();
+		
+		for(JSONObject json : JSON.decodeArray(new StringReader("[{id:1},{id:2},{id:3}]"))){
+			assertTrue(json.isMap());
+			ids.add(json.map().get("id"));
+		}
+		
+		assertEquals(3, ids.size());
+		
+		for(Bean bean : JSON.decodeArray(new StringReader("[{id:\"1\",name:\"a\"}]"), Bean.class)){
+			assertEquals("1", bean.id);
+			assertEquals("a", bean.name);
+		}
+		
+		assertFalse(JSON.decodeArray(new StringReader("[]")).iterator().hasNext());
+	}
+	
+	static final class Bean {
+		public String id;
+		public String name;
+	}
+}
@@ -16,15 +16,22 @@
 package bingo.lang.reflect;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.io.File;
 import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.List;
 
 import org.junit.Ignore;
 import org.junit.Test;
 
 import bingo.lang.Reflects;
+import bingo.lang.reflect.testbed.PublicChild;
 import bingo.lang.testing.Perf;
 import bingo.lang.testing.junit.ConcurrentIgnore;
 import bingo.lang.testing.junit.ConcurrentTestCase;
@@ -246,12 +253,86 @@ public class ReflectAccessorTest extends ConcurrentTestCase {
 		assertEquals(10,Array.getLength(accessor.newArray(10)));
 	}
 	
+	@Test
+	public void testReflectionBackend(){
+		ReflectClass<ReflectionBean> clazz = ReflectClass.get(ReflectionBean.class);
+		
+		assertNull(clazz.getAccessor());
+		
+		ReflectionBean bean = clazz.newInstance();
+		
+		clazz.getField("instanceField").setValue(bean, 10);
+		assertEquals(10, bean.instanceField);
+		assertEquals(new Integer(10), clazz.getField("instanceField").getValue(bean));
+		assertEquals(new Integer(20), clazz.getMethod("twice").invoke(bean));
+		
+		Object array = clazz.newArray(2);
+		clazz.setArrayItem(array, 1, bean);
+		assertEquals(2, clazz.getArrayLength(array));
+		assertEquals(bean, clazz.getArrayItem(array, 1));
+	}
+	
+	@Test
+	@ConcurrentIgnore
+	public void testGenerator() throws Exception {
+		File directory = new File(PublicChild.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+		
+		List<String> generated = ReflectAccessorGenerator.generate(directory, PublicChild.class.getClassLoader(), "bingo.lang.reflect.testbed");
+		
+		for(String name : generated){
+			assertTrue(new File(directory, name.replace('.', File.separatorChar) + ".class").exists());
+		}
+		
+		//the generated accessor class is loaded from the directory instead of being generated.
+		ReflectAccessor accessor = ReflectAccessor.createFor(PublicChild.class);
+		
+		assertTrue(generated.contains(accessor.getClass().getName()));
+		assertNotNull(accessor.getClass().getProtectionDomain().getCodeSource());
+	}
+	
+	@Test
+	@ConcurrentIgnore
+	public void testStaleAccessorClass() throws Exception {
+		Method[] methods = ReflectAccessor.getAccessibleMethods(StaleBean.class);
+		Field[]  fields  = ReflectAccessor.getAccessibleFields(StaleBean.class);
+		String   name    = ReflectAccessor.getAccessorClassNameFor(StaleBean.class, methods, fields);
+		
+		//an accessor class of the expected name, but generated from other members as a build time accessor of a changed class.
+		ReflectAccessor.ReflectLoader loader = new ReflectAccessor.ReflectLoader(StaleBean.class.getClassLoader());
+		loader.defineClass(name, ReflectAccessor.generate(StaleBean.class, name, new Method[0], new Field[0]));
+		
+		assertNull(loader.findAccessorClass(name, ReflectAccessor.getSignatureFor(methods, fields)));
+		
+		ReflectAccessor accessor = ReflectAccessor.createFor(StaleBean.class);
+		assertFalse(name.equals(accessor.getClass().getName()));
+		
+		StaleBean bean  = new StaleBean();
+		int       index = accessor.getFieldIndex("value");
+		
+		accessor.setField(bean, index, 10);
+		assertEquals(10, bean.value);
+		assertEquals(new Integer(10), accessor.getField(bean, index));
+	}
+	
+	static class StaleBean {
+		public int value;
+	}
+	
 	static class Bean {
 		public static int STATIC_FIELD = 0;
 		
 		public int instanceField = 0;
 	}
 	
+	@ReflectAccess(ReflectAccess.Backend.REFLECTION)
+	static class ReflectionBean {
+		public int instanceField = 0;
+		
+		public int twice(){
+			return instanceField * 2;
+		}
+	}
+	
 	static interface IBean {
 		
 	}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package bingo.lang.reflect;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import bingo.lang.testing.junit.ConcurrentIgnore;
+import bingo.lang.testing.junit.ConcurrentTestCase;
+
+public class ReflectCacheTest extends ConcurrentTestCase {
+
+	@Test
+	@ConcurrentIgnore
+	public void testSameValue() throws Exception {
+		final AtomicInteger counter = new AtomicInteger();
+
+		final ReflectCache<String> cache = new ReflectCache<String>() {
+			@Override
+			protected String create(Class<?> type) {
+				counter.incrementAndGet();
+				try {
+					Thread.sleep(50);
+				} catch (InterruptedException e) {
+				}
+				return type.getName();
+			}
+		};
+
+		final CountDownLatch start = new CountDownLatch(1);
+		final String[]       names = new String[16];
+		Thread[]             threads = new Thread[names.length];
+
+		for(int i=0;i<threads.length;i++){
+			final int index = i;
+			threads[i] = new Thread(){
+				@Override
+				public void run() {
+					try {
+						start.await();
+					} catch (InterruptedException e) {
+					}
+					names[index] = cache.get(ReflectCacheTest.class);
+				}
+			};
+			threads[i].start();
+		}
+
+		start.countDown();
+
+		for(Thread thread : threads){
+			thread.join();
+		}
+
+		assertTrue(counter.get() >= 1);
+
+		for(String name : names){
+			assertSame(names[0], name);
+		}
+	}
+
+	@Test
+	public void testReentrantCreate() {
+		final ReflectCache<String> cache = new ReflectCache<String>() {
+			private int depth = 0;
+
+			@Override
+			protected String create(Class<?> type) {
+				//looks up the same type again while creating it
+				return depth++ == 0 ? "outer:" + get(type) : "inner";
+			}
+		};
+
+		//the value of the inner lookup is stored first.
+		assertEquals("inner", cache.get(String.class));
+		assertEquals("inner", cache.get(String.class));
+	}
+
+	@Test
+	@ConcurrentIgnore
+	public void testCrossCreate() throws Exception {
+		final CyclicBarrier         barrier = new CyclicBarrier(2);
+		final ThreadLocal<Boolean>  nested  = new ThreadLocal<Boolean>();
+
+		//creating each type looks up the other one, while the other thread is creating it.
+		final ReflectCache<String> cache = new ReflectCache<String>() {
+			@Override
+			protected String create(Class<?> type) {
+				if(null != nested.get()){
+					return type.getName();
+				}
+				nested.set(Boolean.TRUE);
+				try {
+					barrier.await();
+				} catch (Exception e) {
+					throw new IllegalStateException(e);
+				}
+				return type.getName() + ":" + get(type == String.class ? Integer.class : String.class);
+			}
+		};
+
+		final String[] values  = new String[2];
+		Thread[]       threads = new Thread[2];
+
+		for(int i=0;i<threads.length;i++){
+			final int index = i;
+			threads[i] = new Thread(){
+				@Override
+				public void run() {
+					values[index] = cache.get(index == 0 ? String.class : Integer.class);
+				}
+			};
+			threads[i].start();
+		}
+
+		for(Thread thread : threads){
+			thread.join(5000);
+			assertFalse("deadlock", thread.isAlive());
+		}
+
+		assertEquals(cache.get(String.class), values[0]);
+		assertEquals(cache.get(Integer.class), values[1]);
+	}
+
+	@Test
+	public void testReflectClassSingleton() {
+		assertSame(ReflectClass.get(ReflectCacheTest.class), ReflectClass.get(ReflectCacheTest.class));
+	}
+}
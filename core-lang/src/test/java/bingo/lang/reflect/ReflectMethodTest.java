@@ -17,6 +17,8 @@ package bingo.lang.reflect;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 import java.util.List;
 
@@ -62,6 +64,22 @@ public class ReflectMethodTest extends ConcurrentTestCase {
 		assertEquals("clazz", m4.getParameters()[1].getName());
 	}
 	
+	@Test
+	public void testGetMethodByName(){
+		ReflectClass<GetParameterBean> clazz = Reflects.forType(GetParameterBean.class);
+		
+		assertEquals(2, clazz.getMethods("overload").length);
+		assertEquals(0, clazz.getMethods("notExists").length);
+		assertNull(clazz.getMethod("notExists"));
+		
+		assertEquals(String.class, clazz.getMethod("overload",new Class<?>[]{String.class}).getParameters()[0].getType());
+		assertEquals(int.class,    clazz.getMethod("overload",new Class<?>[]{int.class}).getParameters()[0].getType());
+		assertNull(clazz.getMethod("overload",new Class<?>[]{long.class}));
+		
+		ReflectMethod m = clazz.getMethod("test1");
+		assertSame(m, clazz.getMethod(m.getJavaMethod()));
+	}
+	
 	@SuppressWarnings("unused")
 	private static class GetParameterBean {
 		
@@ -80,5 +98,13 @@ public class ReflectMethodTest extends ConcurrentTestCase {
 		public int test2(String p,Class<?> clazz){
 			return 0;
 		}
+		
+		public void overload(String s){
+			
+		}
+		
+		public void overload(int i){
+			
+		}
 	}
 }
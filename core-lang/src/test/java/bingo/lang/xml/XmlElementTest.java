@@ -32,4 +32,63 @@ public class XmlElementTest extends TestCase {
 		assertEquals("xxx\n\t\ttext3", root.childElement("e3").textTrimmed());
 	}
 	
+	public void testIndexedLookup() {
+		StringBuilder xml = new StringBuilder("<root");
+		for(int i=0;i<20;i++){
+			xml.append(" a").append(i).append("='").append(i).append("'");
+		}
+		xml.append(">");
+		for(int i=0;i<20;i++){
+			xml.append("<e").append(i % 10).append(">").append(i).append("</e").append(i % 10).append(">");
+		}
+		XmlElement root = XmlDocument.parse(xml.append("</root>").toString()).rootElement();
+		
+		assertEquals("1", root.childElementText("e1"));
+		assertEquals(2, root.childElements("e1").size());
+		assertNull(root.childElement("e10"));
+		assertEquals(19, root.attributeValueForInt("a19").intValue());
+		assertNull(root.attribute("a20"));
+		
+		root.childElement("e1").remove();
+		assertEquals("11", root.childElementText("e1"));
+		
+		XmlElement e1 = new XmlElement("e1");
+		e1.add("new");
+		root.addFirst(e1);
+		assertEquals("new", root.childElementText("e1"));
+		
+		root.add(new XmlAttribute("a20", "20"));
+		assertEquals("20", root.attributeValue("a20"));
+	}
+	
+	public void testPath() {
+		XmlPath value     = XmlPath.compile("root/b/c");
+		XmlPath attribute = XmlPath.compile("root/b/@id");
+		
+		XmlDocument doc1 = XmlDocument.parse("<root><b id='1'><c>c1</c><c>c2</c></b><b id='2'/></root>");
+		XmlDocument doc2 = XmlDocument.parse("<root><a/></root>");
+		
+		assertEquals("c1", value.value(doc1));
+		assertEquals(2, value.elements(doc1).size());
+		assertEquals("1", attribute.value(doc1));
+		assertEquals("b", attribute.element(doc1).name());
+		assertEquals("c2", XmlPath.compile("b/c").elements(doc1.rootElement()).get(1).text());
+		
+		assertNull(value.value(doc2));
+		assertNull(attribute.attribute(doc2));
+		assertTrue(value.elements(doc2).isEmpty());
+		
+		XmlPath id = XmlPath.compile("@id");
+		assertNull(id.element(doc1));
+		assertNull(id.attribute(doc1));
+		assertNull(id.value(doc1));
+		assertEquals("2", id.value(doc1.rootElement().childElements("b").get(1)));
+		
+		try{
+			XmlPath.compile("root//b");
+			fail("should be invalid");
+		}catch(XmlException e){
+			
+		}
+	}
 }
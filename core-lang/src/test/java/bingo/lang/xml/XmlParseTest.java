@@ -1,8 +1,10 @@
 package bingo.lang.xml;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 
 import java.io.IOException;
+import java.io.StringReader;
 
 import org.junit.Test;
 
@@ -32,6 +34,28 @@ public class XmlParseTest extends ConcurrentTestCase {
 		System.out.println(doc.childElement("a"));
 	}
 
+	@Test
+	public void testParseWithoutDom() {
+		String xml = "<?xml version='1.0'?><!DOCTYPE a [\n<!ELEMENT a ANY>\n]><!--c--><a xmlns:x='urn:x' y='1'>" +
+					 "t&lt;1<![CDATA[<t2>]]><x:b x:id='2'/><!--d--><?pi data?></a>";
+		
+		XmlDocument doc = XmlDocument.parse(xml);
+		
+		assertEquals(3, doc.childNodes().size());
+		assertEquals(XmlNodeType.DOCUMENT_TYPE, doc.firstChildNode().nodeType());
+		
+		XmlElement a = doc.rootElement();
+		assertEquals("1", a.attributeValue("y"));
+		assertEquals("urn:x", a.attributeValue("xmlns","x"));
+		assertEquals("t<1<t2>", a.text());
+		assertEquals(4, a.childNodes().size());
+		assertEquals("2", a.childElement("b").attributeValue("x","id"));
+		assertEquals(a, a.childElement("b").parent());
+		assertEquals(doc, a.childElement("b").document());
+		
+		assertEquals(doc.rootElement().toXml(), new XmlDocument(XmlDocument.parseDom(new StringReader(xml))).rootElement().toXml());
+	}
+
 	@Test
 	public void testSimpleLoadFromStream() {
 
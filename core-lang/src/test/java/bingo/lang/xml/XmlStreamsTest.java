@@ -0,0 +1,127 @@
+/*
+ * Copyright 2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package bingo.lang.xml;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import bingo.lang.Action1;
+import bingo.lang.testing.junit.ConcurrentTestCase;
+
+public class XmlStreamsTest extends ConcurrentTestCase {
+	
+	@Test
+	public void testElements() {
+		final List<XmlElement> records = new ArrayList<XmlElement>();
+		
+		int count = XmlStreams.elements(new StringReader(feed(3)), "record", new Action1<XmlElement>() {
+			public void execute(XmlElement input) {
+				records.add(input);
+            }
+		});
+		
+		assertEquals(3, count);
+		assertEquals(3, records.size());
+		
+		XmlElement record = records.get(1);
+		assertNull(record.parent());
+		assertNull(record.document());
+		assertEquals("1", record.attributeValue("id"));
+		assertEquals("name1", record.childElementText("name"));
+		assertEquals(1, record.descendantElements("record").size());
+	}
+	
+	@Test
+	public void testElementsWithExecutor() {
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try{
+			final AtomicInteger sum = new AtomicInteger();
+			
+			int count = XmlStreams.elements(new StringReader(feed(1000)), "record", new Action1<XmlElement>() {
+				public void execute(XmlElement input) {
+					sum.addAndGet(input.attributeValueForInt("id"));
+	            }
+			}, executor);
+			
+			assertEquals(1000, count);
+			assertEquals(999 * 1000 / 2, sum.get());
+			
+			try{
+				XmlStreams.elements(new StringReader(feed(1000)), "record", new Action1<XmlElement>() {
+					public void execute(XmlElement input) {
+						if(input.attributeValueForInt("id") == 500){
+							throw new IllegalStateException("record 500");
+						}
+		            }
+				}, executor);
+				fail("should throw the exception of the action");
+			}catch(IllegalStateException e){
+				assertTrue(e.getMessage().contains("500"));
+			}
+		}finally{
+			executor.shutdown();
+		}
+	}
+	
+	@Test
+	public void testElementsWithExecutorReadFailure() {
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try{
+			final AtomicInteger started = new AtomicInteger();
+			final AtomicInteger done    = new AtomicInteger();
+			
+			String xml = feed(20);
+			try{
+				XmlStreams.elements(new StringReader(xml.substring(0, xml.length() - "</feed>".length()) + "<record"), "record", new Action1<XmlElement>() {
+					public void execute(XmlElement input) {
+						started.incrementAndGet();
+						try {
+	                        Thread.sleep(10);
+                        } catch (InterruptedException e) {
+                        	Thread.currentThread().interrupt();
+                        }
+						done.incrementAndGet();
+		            }
+				}, executor);
+				fail("should throw the exception of the reading");
+			}catch(XmlException e){
+				assertEquals(20, started.get());
+				assertEquals(20, done.get());
+			}
+		}finally{
+			executor.shutdown();
+		}
+	}
+	
+	private static String feed(int records) {
+		StringBuilder xml = new StringBuilder("<?xml version='1.0'?><feed><header>header</header>");
+		for(int i=0;i<records;i++){
+			xml.append("<record id='").append(i).append("'><name>name").append(i).append("</name><record/></record>");
+		}
+		return xml.append("</feed>").toString();
+	}
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package bingo.lang.xml;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import bingo.lang.Charsets;
+import bingo.lang.io.IO;
+import bingo.lang.resource.Resource;
+import bingo.lang.resource.Resources;
+
+public class XmlValidatorTest {
+	
+	private static final String SCHEMA = 
+			"<xs:schema xmlns:xs='http://www.w3.org/2001/XMLSchema'>" +
+			"<xs:element name='a'><xs:complexType><xs:attribute name='id' type='xs:int' use='required'/></xs:complexType></xs:element>" +
+			"</xs:schema>";
+	
+	@Test
+	public void testSchemaCache() {
+		//a schema text of its own, the validator is not shared with the other tests.
+		String schema = SCHEMA.replace("name='a'", "name='cached'");
+		
+		XmlValidator validator = XmlValidator.of(new StringReader(schema));
+		long         hits      = XmlValidator.getCacheHits();
+		
+		assertSame(validator, XmlValidator.of(new StringReader(schema)));
+		assertTrue(XmlValidator.getCacheHits() >= hits + 1);
+		assertNotSame(validator, XmlValidator.of(new StringReader(schema.replace("xs:int", "xs:long"))));
+	}
+	
+	@Test
+	public void testSchemaCacheByLocation() throws Exception {
+		File file = File.createTempFile("located", ".xsd");
+		try{
+			String   schema   = SCHEMA.replace("name='a'", "name='located'");
+			Resource resource = Resources.getResource(Resources.FILE_URL_PREFIX + file.getAbsolutePath());
+			
+			write(file, schema);
+			XmlValidator validator = XmlValidator.of(resource);
+			assertSame(validator, XmlValidator.of(resource));
+			
+			//the modified schema of the same location is compiled again.
+			write(file, schema.replace("xs:int", "xs:long"));
+			XmlValidator modified = XmlValidator.of(resource);
+			assertNotSame(validator, modified);
+			assertSame(modified, XmlValidator.of(resource));
+		}finally{
+			file.delete();
+		}
+	}
+	
+	@Test
+	public void testResetCacheStatistics() {
+		XmlValidator.of(new StringReader(SCHEMA));
+		XmlValidator.resetCacheStatistics();
+		
+		assertEquals(0, XmlValidator.getCacheHits());
+		assertEquals(0, XmlValidator.getCacheMisses());
+	}
+	
+	@Test
+	public void testValidateNamespaces() throws Exception {
+		XmlValidator validator = XmlValidator.of(new StringReader(
+				"<xs:schema xmlns:xs='http://www.w3.org/2001/XMLSchema' targetNamespace='urn:t' elementFormDefault='qualified' attributeFormDefault='qualified'>" +
+				"<xs:element name='a'><xs:complexType><xs:sequence><xs:element name='b' type='xs:string' maxOccurs='unbounded'/></xs:sequence>" +
+				"<xs:attribute name='id' type='xs:int'/></xs:complexType></xs:element>" +
+				"</xs:schema>"));
+		
+		validator.validate(XmlDocument.parse("<a xmlns='urn:t' xmlns:t='urn:t' t:id='1'><b>1</b><!--c--><?pi data?><t:b>2</t:b></a>"));
+		validator.validate(XmlDocument.parse("<t:a xmlns:t='urn:t'><t:b xmlns='urn:x'>1</t:b></t:a>"));
+		
+		for(String xml : new String[]{"<a xmlns='urn:t'><c/></a>","<a><b/></a>","<a xmlns='urn:t' xmlns:t='urn:t' t:id='x'><b/></a>","<a xmlns='urn:t'><b><x/></b></a>"}){
+			try{
+				validator.validate(XmlDocument.parse(xml));
+				fail("should be invalid : " + xml);
+			}catch(XmlValidationException e){
+				
+			}
+		}
+	}
+	
+	@Test
+	public void testValidate() throws Exception {
+		final XmlValidator validator = XmlValidator.of(new StringReader(SCHEMA));
+		final XmlDocument  valid     = XmlDocument.parse("<a id='1'/>");
+		final XmlDocument  invalid   = XmlDocument.parse("<a id='x'/>");
+		
+		long validations = validator.getValidations();
+		
+		validator.validate(valid);
+		try{
+			validator.validate(invalid);
+			fail("should be invalid");
+		}catch(XmlValidationException e){
+			
+		}
+		validator.validate(valid);
+		
+		final AtomicInteger errors  = new AtomicInteger();
+		Thread[]            threads = new Thread[4];
+		for(int i=0;i<threads.length;i++){
+			threads[i] = new Thread(){
+				@Override
+				public void run() {
+					for(int j=0;j<100;j++){
+						try{
+							validator.validate(valid);
+							validator.validate(invalid);
+							errors.incrementAndGet();
+						}catch(XmlValidationException e){
+							
+						}
+					}
+				}
+			};
+			threads[i].start();
+		}
+		for(Thread thread : threads){
+			thread.join();
+		}
+		
+		assertEquals(0, errors.get());
+		assertEquals(validations + 3 + 800, validator.getValidations());
+		assertTrue(validator.getValidationNanos() > 0);
+	}
+	
+	private static void write(File file,String content) throws IOException {
+		OutputStream out = new FileOutputStream(file);
+		try{
+			out.write(content.getBytes(Charsets.UTF_8.name()));
+		}finally{
+			IO.close(out);
+		}
+	}
+}
@@ -15,13 +15,19 @@
  */
 package bingo.lang.xml;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStreamWriter;
 import java.io.StringWriter;
 
 import org.junit.Test;
 
+import bingo.lang.Charsets;
 import bingo.lang.logging.Log;
 import bingo.lang.logging.LogFactory;
 
@@ -66,4 +72,55 @@ public class XmlWriterTest {
 		
 		assertNotNull(doc);
 	}
+	
+	@Test
+	public void testUtf8Writer() throws Exception {
+		ByteArrayOutputStream expected = new ByteArrayOutputStream();
+		OutputStreamWriter    writer   = new OutputStreamWriter(expected,Charsets.UTF_8);
+		writeFeed(new XmlWriterBaseImpl(writer));
+		writer.flush();
+		
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		writeFeed(XmlFactory.createWriter(out));
+		
+		assertArrayEquals(expected.toByteArray(), out.toByteArray());
+		assertNotNull(XmlDocument.parse(new String(out.toByteArray(),"UTF-8")));
+		
+		//the surrogate pairs are encoded as 4 bytes instead of two char references
+		out.reset();
+		XmlFactory.createWriter(out).element("text", "\uD83D\uDE00").close();
+		assertEquals("\uD83D\uDE00", XmlDocument.parse(new String(out.toByteArray(),"UTF-8")).rootElement().text());
+	}
+	
+	@Test
+	public void testUtf8WriterEncoding() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		XmlFactory.createWriter(out).startDocument("1.0", "utf8").element("a", "x").close();
+		assertEquals("<?xml version=\"1.0\" encoding=\"utf8\"?><a>x</a>", new String(out.toByteArray(),"UTF-8"));
+		
+		try{
+			XmlFactory.createWriter(new ByteArrayOutputStream()).startDocument("1.0", "ISO-8859-1");
+			fail("should throw XmlException");
+		}catch(XmlException e){
+			
+		}
+	}
+	
+	private static void writeFeed(XmlWriter writer) {
+		writer.startDocument();
+		writer.startElement("feed").namespace("a","http://a");
+		
+		for(int i=0;i<500;i++){
+			writer.startElement("item")
+				  .attribute("id", String.valueOf(i))
+				  .attribute("a", "http://a", "title", "\"quoted\" <tag> & \t\r\n")
+				  .element("name", "name & <" + i + ">\t\r\n")
+				  .element("text", "中文 é text " + i)
+				  .emptyElement("empty")
+				  .endElement();
+		}
+		
+		writer.endDocument();
+		writer.close();
+	}
 }